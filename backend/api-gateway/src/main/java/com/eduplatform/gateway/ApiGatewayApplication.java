@@ -1,10 +1,14 @@
 package com.eduplatform.gateway;
 
+import com.eduplatform.gateway.resilience.RouteResilience;
+import com.eduplatform.gateway.routing.RoutePathMatcher;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 import org.springframework.cloud.gateway.route.RouteLocator;
 import org.springframework.cloud.gateway.route.builder.RouteLocatorBuilder;
 import org.springframework.context.annotation.Bean;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.reactive.CorsWebFilter;
 import org.springframework.web.cors.reactive.UrlBasedCorsConfigurationSource;
@@ -12,6 +16,8 @@ import org.springframework.web.cors.reactive.UrlBasedCorsConfigurationSource;
 import java.util.Arrays;
 
 @SpringBootApplication
+@ConfigurationPropertiesScan
+@EnableScheduling
 public class ApiGatewayApplication {
 
     public static void main(String[] args) {
@@ -19,42 +25,55 @@ public class ApiGatewayApplication {
     }
 
     @Bean
-    public RouteLocator customRouteLocator(RouteLocatorBuilder builder) {
+    public RouteLocator customRouteLocator(RouteLocatorBuilder builder, RoutePathMatcher routePaths,
+                                           RouteResilience resilience) {
+        // lb:// targets resolve through the load balancer to the instances listed under
+        // spring.cloud.discovery.client.simple.instances
         return builder.routes()
                 // User Management Service Routes
-                .route("user-service", r -> r.path("/api/users/**", "/api/auth/**")
-                        .filters(f -> f.stripPrefix(1))
-                        .uri("http://user-management-service:8081"))
+                // Authentication has its own route so login and registration can be rate limited separately
+                .route("auth-service", r -> r.predicate(routePaths.matches("auth-service"))
+                        .filters(f -> resilience.apply("auth-service", f.stripPrefix(1)))
+                        .uri("lb://user-management-service"))
+
+                .route("user-service", r -> r.predicate(routePaths.matches("user-service"))
+                        .filters(f -> resilience.apply("user-service", f.stripPrefix(1)))
+                        .uri("lb://user-management-service"))
 
                 // Course Management Service Routes
-                .route("course-service", r -> r.path("/api/courses/**")
-                        .filters(f -> f.stripPrefix(1))
-                        .uri("http://course-management-service:8082"))
+                // Bulk import/export run for minutes, so they get their own timeouts and no caching
+                .route("course-bulk", r -> r.predicate(routePaths.matches("course-bulk"))
+                        .filters(f -> resilience.apply("course-bulk", f.stripPrefix(1)))
+                        .uri("lb://course-management-service"))
+
+                .route("course-service", r -> r.predicate(routePaths.matches("course-service"))
+                        .filters(f -> resilience.apply("course-service", f.stripPrefix(1)))
+                        .uri("lb://course-management-service"))
 
                 // Content Delivery Service Routes
-                .route("content-service", r -> r.path("/api/content/**", "/api/videos/**")
-                        .filters(f -> f.stripPrefix(1))
-                        .uri("http://localhost:8083"))
+                .route("content-service", r -> r.predicate(routePaths.matches("content-service"))
+                        .filters(f -> resilience.apply("content-service", f.stripPrefix(1)))
+                        .uri("lb://content-delivery-service"))
 
                 // Assessment Service Routes
-                .route("assessment-service", r -> r.path("/api/quizzes/**", "/api/assignments/**")
-                        .filters(f -> f.stripPrefix(1))
-                        .uri("http://localhost:8084"))
+                .route("assessment-service", r -> r.predicate(routePaths.matches("assessment-service"))
+                        .filters(f -> resilience.apply("assessment-service", f.stripPrefix(1)))
+                        .uri("lb://assessment-service"))
 
                 // Progress Tracking Service Routes
-                .route("progress-service", r -> r.path("/api/progress/**", "/api/analytics/**")
-                        .filters(f -> f.stripPrefix(1))
-                        .uri("http://localhost:8085"))
+                .route("progress-service", r -> r.predicate(routePaths.matches("progress-service"))
+                        .filters(f -> resilience.apply("progress-service", f.stripPrefix(1)))
+                        .uri("lb://progress-tracking-service"))
 
                 // Payment Service Routes
-                .route("payment-service", r -> r.path("/api/payments/**", "/api/subscriptions/**")
-                        .filters(f -> f.stripPrefix(1))
-                        .uri("http://localhost:8086"))
+                .route("payment-service", r -> r.predicate(routePaths.matches("payment-service"))
+                        .filters(f -> resilience.apply("payment-service", f.stripPrefix(1)))
+                        .uri("lb://payment-service"))
 
                 // Notification Service Routes
-                .route("notification-service", r -> r.path("/api/notifications/**")
-                        .filters(f -> f.stripPrefix(1))
-                        .uri("http://localhost:8087"))
+                .route("notification-service", r -> r.predicate(routePaths.matches("notification-service"))
+                        .filters(f -> resilience.apply("notification-service", f.stripPrefix(1)))
+                        .uri("lb://notification-service"))
 
                 .build();
     }
@@ -0,0 +1,53 @@
+package com.eduplatform.gateway.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+// Drops the course-service route's cached responses when a course is created, updated or deleted.
+// Any one course can appear on every list and search page, so the whole route is evicted rather than
+// the course's own path. The cache lives in Redis and is shared, so all gateway replicas share one
+// consumer group and each write is evicted once.
+@Component
+public class CourseCacheEvictor {
+
+    public static final String COURSE_EVENTS_TOPIC = "course-events";
+    public static final String COURSE_ROUTE_ID = "course-service";
+
+    private static final Logger log = LoggerFactory.getLogger(CourseCacheEvictor.class);
+    private static final Duration EVICTION_TIMEOUT = Duration.ofSeconds(10);
+
+    private final ReactiveStringRedisTemplate redisTemplate;
+    private final ResponseCacheProperties properties;
+
+    public CourseCacheEvictor(ReactiveStringRedisTemplate redisTemplate, ResponseCacheProperties properties) {
+        this.redisTemplate = redisTemplate;
+        this.properties = properties;
+    }
+
+    // One eviction per poll, so a bulk import's burst of events costs a single scan. A response read
+    // before the write but stored after the eviction can still be served until the route's TTL.
+    // Redis errors propagate, so the container redelivers the batch.
+    @KafkaListener(topics = COURSE_EVENTS_TOPIC, groupId = "api-gateway-response-cache", batch = "true")
+    public void onCourseEvents(List<String> events) {
+        if (!properties.enabled() || !properties.routes().containsKey(COURSE_ROUTE_ID)) {
+            return;
+        }
+        Long evicted = evictRoute(COURSE_ROUTE_ID);
+        log.debug("Evicted {} cached {} responses after {} course events", evicted, COURSE_ROUTE_ID, events.size());
+    }
+
+    Long evictRoute(String routeId) {
+        ScanOptions options = ScanOptions.scanOptions()
+                .match(ResponseCacheFilter.keyPrefix(routeId) + "*")
+                .count(1000)
+                .build();
+        return redisTemplate.delete(redisTemplate.scan(options)).block(EVICTION_TIMEOUT);
+    }
+}
@@ -0,0 +1,272 @@
+package com.eduplatform.gateway.cache;
+
+import com.eduplatform.gateway.filter.JwtAuthenticationFilter;
+import com.eduplatform.gateway.security.VerifiedTokenCache;
+import org.reactivestreams.Publisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+// Redis-backed cache for idempotent GETs on the configured routes, shared by every gateway replica.
+// Concurrent misses for the same key on one replica wait for a single upstream call, and clients
+// can revalidate with If-None-Match against the strong ETag of the cached body. Only 200s within the
+// route's size limit whose Cache-Control allows shared caching are stored.
+@Component
+public class ResponseCacheFilter implements GlobalFilter, Ordered {
+
+    // Must run before NettyWriteResponseFilter so the upstream body is written through our decorator
+    public static final int RESPONSE_CACHE_FILTER_ORDER = NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 1;
+
+    private static final Logger log = LoggerFactory.getLogger(ResponseCacheFilter.class);
+
+    private final ReactiveRedisTemplate<String, byte[]> redisTemplate;
+    private final ResponseCacheProperties properties;
+    private final VerifiedTokenCache tokenCache;
+
+    private final ConcurrentMap<String, Sinks.One<CachedResponse>> inFlight = new ConcurrentHashMap<>();
+
+    public ResponseCacheFilter(ReactiveRedisConnectionFactory connectionFactory,
+                               ResponseCacheProperties properties,
+                               VerifiedTokenCache tokenCache) {
+        RedisSerializationContext<String, byte[]> context = RedisSerializationContext
+                .<String, byte[]>newSerializationContext(RedisSerializer.string())
+                .value(RedisSerializer.byteArray())
+                .build();
+        this.redisTemplate = new ReactiveRedisTemplate<>(connectionFactory, context);
+        this.properties = properties;
+        this.tokenCache = tokenCache;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        ResponseCacheProperties.RouteCache config = route != null && properties.enabled()
+                ? properties.routes().get(route.getId())
+                : null;
+
+        // This filter runs ahead of authentication, so only requests that would pass it may see cached bodies
+        if (config == null || !HttpMethod.GET.equals(request.getMethod()) || !isAuthorized(request)) {
+            return chain.filter(exchange);
+        }
+
+        String key = cacheKey(route.getId(), request);
+
+        return redisTemplate.opsForValue().get(key)
+                .map(CachedResponse::decode)
+                .onErrorResume(e -> {
+                    log.warn("Response cache read failed for {}: {}", key, e.getMessage());
+                    return Mono.empty();
+                })
+                .flatMap(cached -> writeCached(exchange, cached, "HIT").thenReturn(true))
+                .switchIfEmpty(Mono.defer(() -> fetchCoalesced(exchange, chain, key, config).thenReturn(true)))
+                .then();
+    }
+
+    private Mono<Void> fetchCoalesced(ServerWebExchange exchange, GatewayFilterChain chain,
+                                      String key, ResponseCacheProperties.RouteCache config) {
+        Sinks.One<CachedResponse> sink = Sinks.one();
+        Sinks.One<CachedResponse> leader = inFlight.putIfAbsent(key, sink);
+
+        if (leader != null) {
+            // Another request for this key is already upstream; replay its response, or go upstream if it wasn't cacheable
+            return leader.asMono()
+                    .flatMap(cached -> writeCached(exchange, cached, "COALESCED").thenReturn(true))
+                    .switchIfEmpty(Mono.defer(() -> chain.filter(exchange).thenReturn(true)))
+                    .then();
+        }
+
+        CachingResponse response = new CachingResponse(exchange, key, config, sink);
+        return chain.filter(exchange.mutate().response(response).build())
+                .doFinally(signal -> {
+                    inFlight.remove(key, sink);
+                    sink.tryEmitEmpty();
+                });
+    }
+
+    private Mono<Void> writeCached(ServerWebExchange exchange, CachedResponse cached, String cacheStatus) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.getHeaders().setETag(cached.etag());
+        response.getHeaders().set("X-Cache", cacheStatus);
+
+        if (exchange.getRequest().getHeaders().getIfNoneMatch().contains(cached.etag())) {
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            return response.setComplete();
+        }
+
+        response.setStatusCode(HttpStatus.OK);
+        if (cached.contentType() != null) {
+            response.getHeaders().set(HttpHeaders.CONTENT_TYPE, cached.contentType());
+        }
+        response.getHeaders().setContentLength(cached.body().length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(cached.body())));
+    }
+
+    private boolean isAuthorized(ServerHttpRequest request) {
+        if (JwtAuthenticationFilter.isOpenEndpoint(request.getPath().value())) {
+            return true;
+        }
+        String authHeader = request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            return false;
+        }
+        try {
+            tokenCache.verify(authHeader.substring(7));
+            return true;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private static String cacheKey(String routeId, ServerHttpRequest request) {
+        String query = request.getURI().getRawQuery();
+        return keyPrefix(routeId) + request.getPath().value() + (query != null ? "?" + query : "");
+    }
+
+    // Every cached response of the route is stored under this prefix
+    static String keyPrefix(String routeId) {
+        return "gw:cache:" + routeId + ":";
+    }
+
+    private static String etag(byte[] body) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(body);
+            return "\"" + HexFormat.of().formatHex(hash, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    // Captures a cacheable upstream body, publishes it to waiting requests and stores it in Redis
+    private class CachingResponse extends ServerHttpResponseDecorator {
+
+        private final ServerWebExchange exchange;
+        private final String key;
+        private final ResponseCacheProperties.RouteCache config;
+        private final Sinks.One<CachedResponse> sink;
+
+        CachingResponse(ServerWebExchange exchange, String key,
+                        ResponseCacheProperties.RouteCache config, Sinks.One<CachedResponse> sink) {
+            super(exchange.getResponse());
+            this.exchange = exchange;
+            this.key = key;
+            this.config = config;
+            this.sink = sink;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            long maxBodySize = config.maxBodySize().toBytes();
+            if (!HttpStatus.OK.equals(getStatusCode()) || !isStorable(getHeaders())
+                    || getHeaders().getContentLength() > maxBodySize) {
+                return super.writeWith(body);
+            }
+
+            // Bodies are held until they either complete (and are cached) or pass maxBodySize, at which
+            // point what was held and the rest are streamed through uncached; nothing is written before then
+            List<DataBuffer> held = new ArrayList<>();
+            long[] heldBytes = {0};
+            boolean[] streaming = {false};
+
+            Flux<DataBuffer> output = Flux.from(body)
+                    .concatMap(buffer -> {
+                        if (streaming[0]) {
+                            return Mono.just(buffer);
+                        }
+                        held.add(buffer);
+                        heldBytes[0] += buffer.readableByteCount();
+                        if (heldBytes[0] <= maxBodySize) {
+                            return Flux.empty();
+                        }
+                        streaming[0] = true;
+                        List<DataBuffer> release = new ArrayList<>(held);
+                        held.clear();
+                        return Flux.fromIterable(release);
+                    })
+                    .concatWith(Flux.defer(() -> streaming[0] ? Flux.empty() : cacheHeld(held)))
+                    .doOnDiscard(DataBuffer.class, DataBufferUtils::release)
+                    .doOnCancel(() -> {
+                        held.forEach(DataBufferUtils::release);
+                        held.clear();
+                    });
+            return super.writeWith(output);
+        }
+
+        private Flux<DataBuffer> cacheHeld(List<DataBuffer> held) {
+            byte[] bytes = new byte[held.stream().mapToInt(DataBuffer::readableByteCount).sum()];
+            int offset = 0;
+            for (DataBuffer buffer : held) {
+                int length = buffer.readableByteCount();
+                buffer.read(bytes, offset, length);
+                offset += length;
+                DataBufferUtils.release(buffer);
+            }
+            held.clear();
+
+            CachedResponse cached = new CachedResponse(etag(bytes), getHeaders().getFirst(HttpHeaders.CONTENT_TYPE), bytes);
+            inFlight.remove(key, sink);
+            sink.tryEmitValue(cached);
+
+            Mono<Boolean> store = redisTemplate.opsForValue()
+                    .set(key, cached.encode(), config.ttl())
+                    .onErrorResume(e -> {
+                        log.warn("Response cache write failed for {}: {}", key, e.getMessage());
+                        return Mono.just(false);
+                    });
+
+            getHeaders().setETag(cached.etag());
+            getHeaders().set("X-Cache", "MISS");
+
+            if (exchange.getRequest().getHeaders().getIfNoneMatch().contains(cached.etag())) {
+                setStatusCode(HttpStatus.NOT_MODIFIED);
+                getHeaders().remove(HttpHeaders.CONTENT_LENGTH);
+                return store.thenMany(Flux.empty());
+            }
+
+            getHeaders().setContentLength(bytes.length);
+            return store.thenMany(Flux.just(bufferFactory().wrap(bytes)));
+        }
+    }
+
+    // False when the upstream Cache-Control opts out of shared caching
+    private static boolean isStorable(HttpHeaders headers) {
+        String cacheControl = String.join(",", headers.getOrEmpty(HttpHeaders.CACHE_CONTROL)).toLowerCase(Locale.ROOT);
+        return !cacheControl.contains("no-store") && !cacheControl.contains("private") && !cacheControl.contains("no-cache");
+    }
+
+    @Override
+    public int getOrder() {
+        return RESPONSE_CACHE_FILTER_ORDER;
+    }
+}
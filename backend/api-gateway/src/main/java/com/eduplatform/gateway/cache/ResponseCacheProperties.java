@@ -0,0 +1,21 @@
+package com.eduplatform.gateway.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.Map;
+
+// Cached routes, their TTLs and body size limits, e.g. gateway.response-cache.routes.course-service.ttl
+@ConfigurationProperties(prefix = "gateway.response-cache")
+public record ResponseCacheProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue Map<String, RouteCache> routes
+) {
+
+    // Larger bodies stream through uncached instead of being buffered on the heap and in Redis
+    public record RouteCache(@DefaultValue("60s") Duration ttl,
+                             @DefaultValue("1MB") DataSize maxBodySize) {
+    }
+}
@@ -11,6 +11,7 @@ import org.springframework.web.server.ServerWebExchange;
 import org.springframework.web.server.ResponseStatusException;
 import reactor.core.publisher.Mono;
 
+import java.net.ConnectException;
 import java.nio.charset.StandardCharsets;
 
 @Component
@@ -35,6 +36,10 @@ public class GlobalExceptionHandler implements ErrorWebExceptionHandler {
             // Use getStatusCode() instead of getStatus() for Spring WebFlux
             status = HttpStatus.valueOf(rse.getStatusCode().value());
             message = rse.getReason() != null ? rse.getReason() : status.getReasonPhrase();
+        } else if (ex instanceof ConnectException) {
+            // Upstream refused the connection and no retry was left
+            status = HttpStatus.BAD_GATEWAY;
+            message = "Upstream service unavailable";
         }
 
         response.setStatusCode(status);
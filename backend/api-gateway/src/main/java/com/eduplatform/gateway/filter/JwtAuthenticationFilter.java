@@ -1,9 +1,8 @@
 package com.eduplatform.gateway.filter;
 
-import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.security.Keys;
-import org.springframework.beans.factory.annotation.Value;
+import com.eduplatform.gateway.routing.PathPrefixMatcher;
+import com.eduplatform.gateway.security.VerifiedToken;
+import com.eduplatform.gateway.security.VerifiedTokenCache;
 import org.springframework.cloud.gateway.filter.GatewayFilter;
 import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
 import org.springframework.http.HttpHeaders;
@@ -14,26 +13,23 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
-import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
-import java.util.List;
 
 @Component
 public class JwtAuthenticationFilter extends AbstractGatewayFilterFactory<JwtAuthenticationFilter.Config> {
 
-    @Value("${jwt.secret}")
-    private String jwtSecret;
+    private final VerifiedTokenCache tokenCache;
 
     // Routes that don't require authentication
-    private static final List<String> OPEN_ENDPOINTS = List.of(
-            "/api/auth/login",
-            "/api/auth/register",
-            "/api/auth/refresh",
-            "/api/courses/public"
-    );
-
-    public JwtAuthenticationFilter() {
+    private static final PathPrefixMatcher<Boolean> OPEN_ENDPOINTS = new PathPrefixMatcher<Boolean>()
+            .add("/api/auth/login", true)
+            .add("/api/auth/register", true)
+            .add("/api/auth/refresh", true)
+            .add("/api/courses/public", true);
+
+    public JwtAuthenticationFilter(VerifiedTokenCache tokenCache) {
         super(Config.class);
+        this.tokenCache = tokenCache;
     }
 
     @Override
@@ -43,7 +39,7 @@ public class JwtAuthenticationFilter extends AbstractGatewayFilterFactory<JwtAut
             String path = request.getPath().toString();
 
             // Skip authentication for open endpoints
-            if (OPEN_ENDPOINTS.stream().anyMatch(path::startsWith)) {
+            if (isOpenEndpoint(path)) {
                 return chain.filter(exchange);
             }
 
@@ -56,18 +52,13 @@ public class JwtAuthenticationFilter extends AbstractGatewayFilterFactory<JwtAut
             String token = authHeader.substring(7);
 
             try {
-                SecretKey key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
-                Claims claims = Jwts.parserBuilder()
-                        .setSigningKey(key)
-                        .build()
-                        .parseClaimsJws(token)
-                        .getBody();
+                VerifiedToken verified = tokenCache.verify(token);
 
                 // Add user info to request headers for downstream services
                 ServerHttpRequest modifiedRequest = request.mutate()
-                        .header("X-User-Id", claims.getSubject())
-                        .header("X-User-Email", claims.get("email", String.class))
-                        .header("X-User-Role", claims.get("role", String.class))
+                        .header("X-User-Id", verified.userId())
+                        .header("X-User-Email", verified.email())
+                        .header("X-User-Role", verified.roles())
                         .build();
 
                 return chain.filter(exchange.mutate().request(modifiedRequest).build());
@@ -78,6 +69,10 @@ public class JwtAuthenticationFilter extends AbstractGatewayFilterFactory<JwtAut
         };
     }
 
+    public static boolean isOpenEndpoint(String path) {
+        return OPEN_ENDPOINTS.matches(path);
+    }
+
     private Mono<Void> onError(ServerWebExchange exchange, String err, HttpStatus httpStatus) {
         ServerHttpResponse response = exchange.getResponse();
         response.setStatusCode(httpStatus);
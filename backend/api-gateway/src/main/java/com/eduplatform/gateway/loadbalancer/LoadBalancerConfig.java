@@ -0,0 +1,19 @@
+package com.eduplatform.gateway.loadbalancer;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.cloud.gateway.config.HttpClientCustomizer;
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClients;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@LoadBalancerClients(defaultConfiguration = UpstreamLoadBalancerConfiguration.class)
+public class LoadBalancerConfig {
+
+    // Pool sizes and idle eviction come from spring.cloud.gateway.httpclient.pool and apply to each
+    // upstream address separately; TCP keep-alive additionally detects connections dropped by the peer
+    @Bean
+    public HttpClientCustomizer keepAliveCustomizer() {
+        return httpClient -> httpClient.option(ChannelOption.SO_KEEPALIVE, true);
+    }
+}
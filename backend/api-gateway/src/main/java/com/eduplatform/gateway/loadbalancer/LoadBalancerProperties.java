@@ -0,0 +1,15 @@
+package com.eduplatform.gateway.loadbalancer;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+// Passive health checking and latency tracking for load balanced upstreams, e.g. gateway.load-balancer.failure-threshold
+@ConfigurationProperties(prefix = "gateway.load-balancer")
+public record LoadBalancerProperties(
+        @DefaultValue("5") int failureThreshold,
+        @DefaultValue("30s") Duration ejectionTime,
+        @DefaultValue("10s") Duration latencyDecay
+) {
+}
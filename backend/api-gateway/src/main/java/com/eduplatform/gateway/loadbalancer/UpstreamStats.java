@@ -0,0 +1,85 @@
+package com.eduplatform.gateway.loadbalancer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Live load of every upstream instance, fed by UpstreamStatsFilter: requests in flight, a decaying
+// average of response time, and consecutive failures. An instance failing failure-threshold times in
+// a row is ejected for ejection-time (passive health check), on top of the active /actuator/health probes.
+@Component
+public class UpstreamStats {
+
+    private static final Logger log = LoggerFactory.getLogger(UpstreamStats.class);
+
+    // Latency assumed for an instance without samples, so fresh replicas are tried but not flooded
+    private static final double INITIAL_LATENCY_NANOS = 1_000_000;
+
+    private final LoadBalancerProperties properties;
+    private final ConcurrentMap<String, InstanceStats> instances = new ConcurrentHashMap<>();
+
+    public UpstreamStats(LoadBalancerProperties properties) {
+        this.properties = properties;
+    }
+
+    public void requestStarted(ServiceInstance instance) {
+        stats(instance).outstanding.incrementAndGet();
+    }
+
+    // latencyNanos < 0 when the request was cancelled and nothing is known about the instance
+    public void requestFinished(ServiceInstance instance, long latencyNanos, boolean failed) {
+        InstanceStats stats = stats(instance);
+        stats.outstanding.decrementAndGet();
+        if (latencyNanos < 0) {
+            return;
+        }
+        synchronized (stats) {
+            long now = System.nanoTime();
+            // Weight the previous average by how long ago it was updated, so old samples fade out
+            double weight = Math.exp(-(now - stats.lastUpdate) / (double) properties.latencyDecay().toNanos());
+            stats.latencyNanos = stats.latencyNanos * weight + latencyNanos * (1 - weight);
+            stats.lastUpdate = now;
+
+            if (!failed) {
+                stats.consecutiveFailures = 0;
+            } else if (++stats.consecutiveFailures >= properties.failureThreshold()) {
+                stats.consecutiveFailures = 0;
+                stats.ejectedUntil = now + properties.ejectionTime().toNanos();
+                log.warn("Ejecting upstream {} for {} after {} consecutive failures",
+                        key(instance), properties.ejectionTime(), properties.failureThreshold());
+            }
+        }
+    }
+
+    public boolean isEjected(ServiceInstance instance) {
+        InstanceStats stats = instances.get(key(instance));
+        return stats != null && stats.ejectedUntil - System.nanoTime() > 0;
+    }
+
+    // Expected wait for a new request: everything in flight plus this one, at the recent response time
+    public double load(ServiceInstance instance) {
+        InstanceStats stats = stats(instance);
+        return (Math.max(0, stats.outstanding.get()) + 1) * stats.latencyNanos;
+    }
+
+    private InstanceStats stats(ServiceInstance instance) {
+        return instances.computeIfAbsent(key(instance), key -> new InstanceStats());
+    }
+
+    private static String key(ServiceInstance instance) {
+        return instance.getServiceId() + "@" + instance.getHost() + ":" + instance.getPort();
+    }
+
+    private static class InstanceStats {
+        final AtomicInteger outstanding = new AtomicInteger();
+        volatile double latencyNanos = INITIAL_LATENCY_NANOS;
+        long lastUpdate = System.nanoTime();
+        int consecutiveFailures;
+        volatile long ejectedUntil = System.nanoTime();
+    }
+}
@@ -0,0 +1,60 @@
+package com.eduplatform.gateway.loadbalancer;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.ReactiveLoadBalancerClientFilter;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+// Records in-flight count, latency and failures of the instance the load balancer picked.
+// Connection errors and 502/503/504 from the instance count as failures; other statuses don't.
+@Component
+public class UpstreamStatsFilter implements GlobalFilter, Ordered {
+
+    // Directly after the load balancer has resolved the instance
+    public static final int UPSTREAM_STATS_FILTER_ORDER = ReactiveLoadBalancerClientFilter.LOAD_BALANCER_CLIENT_FILTER_ORDER + 1;
+
+    private final UpstreamStats stats;
+
+    public UpstreamStatsFilter(UpstreamStats stats) {
+        this.stats = stats;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Response<ServiceInstance> chosen = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_LOADBALANCER_RESPONSE_ATTR);
+        if (chosen == null || !chosen.hasServer()) {
+            return chain.filter(exchange);
+        }
+
+        ServiceInstance instance = chosen.getServer();
+        long start = System.nanoTime();
+        stats.requestStarted(instance);
+
+        return chain.filter(exchange)
+                .doFinally(signal -> {
+                    if (signal == SignalType.CANCEL) {
+                        stats.requestFinished(instance, -1, false);
+                        return;
+                    }
+                    boolean failed = signal == SignalType.ON_ERROR || isUnavailable(exchange.getResponse().getStatusCode());
+                    stats.requestFinished(instance, System.nanoTime() - start, failed);
+                });
+    }
+
+    private static boolean isUnavailable(HttpStatusCode status) {
+        return status != null && (status.value() == 502 || status.value() == 503 || status.value() == 504);
+    }
+
+    @Override
+    public int getOrder() {
+        return UPSTREAM_STATS_FILTER_ORDER;
+    }
+}
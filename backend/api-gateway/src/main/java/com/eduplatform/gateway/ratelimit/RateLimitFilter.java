@@ -0,0 +1,188 @@
+package com.eduplatform.gateway.ratelimit;
+
+import com.eduplatform.gateway.security.VerifiedTokenCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+// Per-IP and per-user token buckets kept in Redis so every gateway replica shares the same limits.
+// Keys rejected by Redis are remembered locally until their retry-after passes, so a flood from one
+// client is turned away without a Redis round trip.
+@Component
+public class RateLimitFilter implements GlobalFilter, Ordered {
+
+    public static final int RATE_LIMIT_FILTER_ORDER = -200;
+
+    private static final Logger log = LoggerFactory.getLogger(RateLimitFilter.class);
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static final RedisScript<List<Long>> TOKEN_BUCKET_SCRIPT =
+            (RedisScript) RedisScript.of(new ClassPathResource("scripts/token-bucket.lua"), List.class);
+
+    // allowed, remaining (unknown), retry-after, limiting key
+    private static final List<Long> ALLOWED = List.of(1L, -1L, 0L, 0L);
+
+    private final ReactiveStringRedisTemplate redisTemplate;
+    private final RateLimitProperties properties;
+    private final VerifiedTokenCache tokenCache;
+    private final MeterRegistry meterRegistry;
+
+    // key -> epoch millis until which the key is known to be over its limit
+    private final Cache<String, Long> blockedUntil = Caffeine.newBuilder()
+            .maximumSize(100_000)
+            .expireAfterWrite(Duration.ofMinutes(1))
+            .build();
+
+    public RateLimitFilter(ReactiveStringRedisTemplate redisTemplate,
+                           RateLimitProperties properties,
+                           VerifiedTokenCache tokenCache,
+                           MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.properties = properties;
+        this.tokenCache = tokenCache;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        RateLimitProperties.RouteLimit limit = route != null && properties.enabled()
+                ? properties.routes().get(route.getId())
+                : null;
+
+        if (limit == null) {
+            return chain.filter(exchange);
+        }
+
+        List<String> keys = new ArrayList<>(2);
+        List<String> args = new ArrayList<>(5);
+        args.add("1");
+
+        if (limit.perIp() != null) {
+            addBucket(keys, args, "rate:" + route.getId() + ":ip:" + clientIp(exchange), limit.perIp());
+        }
+        if (limit.perUser() != null) {
+            String userId = userId(exchange);
+            if (userId != null) {
+                addBucket(keys, args, "rate:" + route.getId() + ":user:" + userId, limit.perUser());
+            }
+        }
+
+        if (keys.isEmpty()) {
+            return chain.filter(exchange);
+        }
+
+        // Local clock only: blocks are recorded as this replica's time plus Redis's retry-after
+        long now = System.currentTimeMillis();
+        for (String key : keys) {
+            Long until = blockedUntil.getIfPresent(key);
+            if (until != null && until > now) {
+                return onLimited(exchange, route.getId(), "local", until - now);
+            }
+        }
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        return redisTemplate.execute(TOKEN_BUCKET_SCRIPT, keys, args)
+                .reduce(new ArrayList<Long>(), (results, result) -> {
+                    results.addAll(result);
+                    return results;
+                })
+                .doOnEach(signal -> {
+                    if (signal.isOnNext() || signal.isOnError()) {
+                        sample.stop(Timer.builder("gateway.ratelimit.redis")
+                                .description("Round trip of the token bucket script")
+                                .tag("outcome", signal.isOnError() ? "error" : "success")
+                                .publishPercentileHistogram()
+                                .register(meterRegistry));
+                    }
+                })
+                .onErrorResume(e -> {
+                    // Fail open: an unreachable Redis must not take the whole gateway down
+                    log.warn("Rate limiter unavailable, allowing request: {}", e.getMessage());
+                    return Mono.just(new ArrayList<>(ALLOWED));
+                })
+                .flatMap(result -> {
+                    if (result.get(0) == 1L) {
+                        if (result.get(1) >= 0) {
+                            exchange.getResponse().getHeaders().set("X-RateLimit-Remaining", result.get(1).toString());
+                        }
+                        return chain.filter(exchange);
+                    }
+                    long retryAfterMillis = result.get(2);
+                    String limitedKey = keys.get(result.get(3).intValue() - 1);
+                    blockedUntil.put(limitedKey, System.currentTimeMillis() + retryAfterMillis);
+                    return onLimited(exchange, route.getId(), "redis", retryAfterMillis);
+                });
+    }
+
+    private static void addBucket(List<String> keys, List<String> args, String key, RateLimitProperties.Bucket bucket) {
+        keys.add(key);
+        args.add(Integer.toString(bucket.replenishRate()));
+        args.add(Integer.toString(bucket.burstCapacity()));
+    }
+
+    private String userId(ServerWebExchange exchange) {
+        String authHeader = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            return null;
+        }
+        try {
+            return tokenCache.verify(authHeader.substring(7)).userId();
+        } catch (Exception e) {
+            // Invalid tokens are rejected by JwtAuthenticationFilter; only the IP bucket applies here
+            return null;
+        }
+    }
+
+    private static String clientIp(ServerWebExchange exchange) {
+        InetSocketAddress remoteAddress = exchange.getRequest().getRemoteAddress();
+        if (remoteAddress == null || remoteAddress.getAddress() == null) {
+            return "unknown";
+        }
+        return remoteAddress.getAddress().getHostAddress();
+    }
+
+    private Mono<Void> onLimited(ServerWebExchange exchange, String routeId, String source, long retryAfterMillis) {
+        meterRegistry.counter("gateway.ratelimit.rejected", "route", routeId, "source", source).increment();
+
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+        response.getHeaders().add("Content-Type", "application/json");
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER, Long.toString(Math.max(1, (retryAfterMillis + 999) / 1000)));
+        response.getHeaders().set("X-RateLimit-Remaining", "0");
+
+        String body = "{\"error\":\"Too many requests\"}";
+
+        return response.writeWith(
+                Mono.just(response.bufferFactory().wrap(body.getBytes(StandardCharsets.UTF_8)))
+        );
+    }
+
+    @Override
+    public int getOrder() {
+        return RATE_LIMIT_FILTER_ORDER;
+    }
+}
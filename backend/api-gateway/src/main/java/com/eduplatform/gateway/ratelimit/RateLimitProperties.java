@@ -0,0 +1,20 @@
+package com.eduplatform.gateway.ratelimit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.Map;
+
+// Token bucket limits per route id, e.g. gateway.rate-limit.routes.auth-service.per-ip
+@ConfigurationProperties(prefix = "gateway.rate-limit")
+public record RateLimitProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue Map<String, RouteLimit> routes
+) {
+
+    public record RouteLimit(Bucket perIp, Bucket perUser) {
+    }
+
+    public record Bucket(int replenishRate, int burstCapacity) {
+    }
+}
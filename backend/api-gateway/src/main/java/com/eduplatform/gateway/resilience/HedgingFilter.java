@@ -0,0 +1,279 @@
+package com.eduplatform.gateway.resilience;
+
+import com.eduplatform.gateway.loadbalancer.UpstreamStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerUriTools;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.client.loadbalancer.reactive.ReactiveLoadBalancer;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.ReactiveLoadBalancerClientFilter;
+import org.springframework.cloud.gateway.filter.headers.HttpHeadersFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.http.server.PathContainer;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+import reactor.netty.http.client.HttpClient;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Hedged GETs for routes with gateway.resilience.routes.<id>.hedge: the request goes to one instance,
+// and if it hasn't answered within the route's recent p95 (or configured percentile) the same request
+// goes to a second instance; whichever answers first is returned and the other is cancelled.
+// Responses are buffered, so hedging is limited to the route's small catalogue reads (hedge.paths);
+// a body past MAX_BUFFERED_RESPONSE is fetched again through the regular, streaming routing filter.
+// Requests share the gateway's HttpClient, so its pool, connect timeout and keep-alive settings apply.
+@Component
+public class HedgingFilter implements GlobalFilter, Ordered {
+
+    // Takes over from the load balancer and routing filters for hedged requests
+    public static final int HEDGING_FILTER_ORDER = ReactiveLoadBalancerClientFilter.LOAD_BALANCER_CLIENT_FILTER_ORDER - 1;
+
+    private static final int MAX_BUFFERED_RESPONSE = 4 * 1024 * 1024;
+
+    // Recomputing a percentile takes a histogram snapshot, so the delay is refreshed at most this often
+    private static final long DELAY_REFRESH_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final ResilienceProperties properties;
+    private final RetryBudget budget;
+    private final UpstreamStats stats;
+    private final LoadBalancerClientFactory clientFactory;
+    private final ObjectProvider<List<HttpHeadersFilter>> headersFilters;
+    private final MeterRegistry meterRegistry;
+    private final WebClient webClient;
+
+    private final ConcurrentMap<String, RouteLatency> latencies = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, List<PathPattern>> hedgedPaths = new ConcurrentHashMap<>();
+
+    public HedgingFilter(ResilienceProperties properties,
+                         RetryBudget budget,
+                         UpstreamStats stats,
+                         LoadBalancerClientFactory clientFactory,
+                         ObjectProvider<List<HttpHeadersFilter>> headersFilters,
+                         MeterRegistry meterRegistry,
+                         HttpClient httpClient,
+                         WebClient.Builder webClientBuilder) {
+        this.properties = properties;
+        this.budget = budget;
+        this.stats = stats;
+        this.clientFactory = clientFactory;
+        this.headersFilters = headersFilters;
+        this.meterRegistry = meterRegistry;
+        this.webClient = webClientBuilder
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize(MAX_BUFFERED_RESPONSE))
+                .build();
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        ResilienceProperties.RouteResilience config = route != null ? properties.routes().get(route.getId()) : null;
+        URI url = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR);
+
+        if (config == null || config.hedge() == null
+                || exchange.getRequest().getMethod() != HttpMethod.GET
+                || url == null || !"lb".equals(url.getScheme())
+                || !isHedged(route.getId(), config.hedge(), exchange)) {
+            return chain.filter(exchange);
+        }
+
+        ReactiveLoadBalancer<ServiceInstance> loadBalancer = clientFactory.getInstance(url.getHost());
+        if (loadBalancer == null) {
+            return chain.filter(exchange);
+        }
+
+        String routeId = route.getId();
+        RouteLatency latency = latency(routeId, config.hedge());
+        Duration responseTimeout = config.responseTimeout();
+
+        return Mono.from(loadBalancer.choose()).flatMap(chosen -> {
+            if (!chosen.hasServer()) {
+                // Let the load balancer filter report the missing instance as usual
+                return chain.filter(exchange);
+            }
+            ServiceInstance primary = chosen.getServer();
+
+            Mono<ResponseEntity<byte[]>> hedge = Mono.delay(latency.hedgeDelay(config.hedge()))
+                    .filter(tick -> budget.tryAcquire(routeId, config.budget(), "hedge"))
+                    .flatMap(tick -> Mono.from(loadBalancer.choose()))
+                    .filter(second -> second.hasServer() && !sameInstance(second.getServer(), primary))
+                    .flatMap(second -> send(exchange, url, second.getServer(), responseTimeout, latency));
+
+            return Mono.firstWithValue(send(exchange, url, primary, responseTimeout, latency), hedge)
+                    .onErrorMap(HedgingFilter::upstreamFailure)
+                    .flatMap(response -> write(exchange, response))
+                    .onErrorResume(DataBufferLimitException.class, e -> chain.filter(exchange));
+        });
+    }
+
+    private Mono<ResponseEntity<byte[]>> send(ServerWebExchange exchange, URI url, ServiceInstance instance,
+                                              Duration responseTimeout, RouteLatency latency) {
+        return Mono.defer(() -> {
+            URI target = LoadBalancerUriTools.reconstructURI(instance, url);
+            HttpHeaders headers = HttpHeadersFilter.filterRequest(headersFilters.getIfAvailable(), exchange);
+
+            AtomicBoolean answered = new AtomicBoolean();
+            long start = System.nanoTime();
+            stats.requestStarted(instance);
+
+            return webClient.get()
+                    .uri(target)
+                    .headers(h -> headers.forEach((name, values) -> {
+                        if (!HttpHeaders.HOST.equalsIgnoreCase(name)) {
+                            h.addAll(name, values);
+                        }
+                    }))
+                    .exchangeToMono(response -> response.toEntity(byte[].class))
+                    .timeout(responseTimeout)
+                    .flatMap(response -> {
+                        HttpStatusCode code = response.getStatusCode();
+                        // An unavailable instance shouldn't win the race against a healthy one
+                        if (RetryFilter.isUnavailable(code)) {
+                            return Mono.error(new ResponseStatusException(code, "Upstream returned " + code.value()));
+                        }
+                        answered.set(true);
+                        return Mono.just(response);
+                    })
+                    .doFinally(signal -> {
+                        if (signal == SignalType.CANCEL) {
+                            stats.requestFinished(instance, -1, false);
+                            return;
+                        }
+                        long elapsed = System.nanoTime() - start;
+                        boolean failed = signal == SignalType.ON_ERROR;
+                        stats.requestFinished(instance, elapsed, failed);
+                        if (answered.get()) {
+                            latency.timer.record(elapsed, TimeUnit.NANOSECONDS);
+                        }
+                    });
+        });
+    }
+
+    private Mono<Void> write(ServerWebExchange exchange, ResponseEntity<byte[]> upstream) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(upstream.getStatusCode());
+
+        HttpHeaders headers = HttpHeadersFilter.filter(headersFilters.getIfAvailable(), upstream.getHeaders(),
+                exchange, HttpHeadersFilter.Type.RESPONSE);
+        // The body is re-framed by the gateway's own response
+        headers.forEach((name, values) -> {
+            if (!HttpHeaders.TRANSFER_ENCODING.equalsIgnoreCase(name) && !HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+                response.getHeaders().put(name, values);
+            }
+        });
+        ServerWebExchangeUtils.setAlreadyRouted(exchange);
+
+        byte[] body = upstream.getBody();
+        if (body == null) {
+            return response.setComplete();
+        }
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+    }
+
+    // Surfaces the primary's failure in the form the routing filter would have used, for
+    // RetryFilter and GlobalExceptionHandler
+    private static Throwable upstreamFailure(Throwable e) {
+        Throwable cause = e.getSuppressed().length > 0 ? e.getSuppressed()[0] : e;
+        if (cause instanceof TimeoutException) {
+            return new ResponseStatusException(HttpStatus.GATEWAY_TIMEOUT, "Response took longer than timeout", cause);
+        }
+        if (cause instanceof WebClientRequestException) {
+            return new ResponseStatusException(HttpStatus.BAD_GATEWAY, "Upstream service unavailable", cause);
+        }
+        return cause;
+    }
+
+    private boolean isHedged(String routeId, ResilienceProperties.Hedge hedge, ServerWebExchange exchange) {
+        List<PathPattern> patterns = hedgedPaths.computeIfAbsent(routeId, id -> hedge.paths().stream()
+                .map(PathPatternParser.defaultInstance::parse)
+                .toList());
+        PathContainer path = clientPath(exchange);
+        return patterns.stream().anyMatch(pattern -> pattern.matches(path));
+    }
+
+    // hedge.paths are client-facing, but by now the route's filters (stripPrefix) have rewritten the
+    // request path; the URL the client asked for is the first one the gateway recorded
+    private static PathContainer clientPath(ServerWebExchange exchange) {
+        Set<URI> originalUrls = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ORIGINAL_REQUEST_URL_ATTR);
+        if (originalUrls != null && !originalUrls.isEmpty()) {
+            return PathContainer.parsePath(originalUrls.iterator().next().getRawPath());
+        }
+        return exchange.getRequest().getPath().pathWithinApplication();
+    }
+
+    private static boolean sameInstance(ServiceInstance a, ServiceInstance b) {
+        return a.getHost().equals(b.getHost()) && a.getPort() == b.getPort();
+    }
+
+    private RouteLatency latency(String routeId, ResilienceProperties.Hedge hedge) {
+        return latencies.computeIfAbsent(routeId, id -> new RouteLatency(Timer.builder("gateway.hedge.upstream")
+                .description("Latency of successful upstream calls on hedged routes")
+                .tag("route", id)
+                .publishPercentiles(hedge.percentile())
+                .distributionStatisticExpiry(Duration.ofMinutes(1))
+                .distributionStatisticBufferLength(3)
+                .register(meterRegistry)));
+    }
+
+    private static class RouteLatency {
+        final Timer timer;
+        volatile long delayNanos = -1;
+        volatile long refreshedAt;
+
+        RouteLatency(Timer timer) {
+            this.timer = timer;
+        }
+
+        Duration hedgeDelay(ResilienceProperties.Hedge hedge) {
+            long now = System.nanoTime();
+            if (delayNanos < 0 || now - refreshedAt > DELAY_REFRESH_NANOS) {
+                delayNanos = computeDelay(hedge);
+                refreshedAt = now;
+            }
+            return Duration.ofNanos(delayNanos);
+        }
+
+        private long computeDelay(ResilienceProperties.Hedge hedge) {
+            if (timer.count() < hedge.minSamples()) {
+                return hedge.initialDelay().toNanos();
+            }
+            for (ValueAtPercentile value : timer.takeSnapshot().percentileValues()) {
+                if (value.percentile() == hedge.percentile()) {
+                    return Math.max(hedge.minDelay().toNanos(), (long) value.value(TimeUnit.NANOSECONDS));
+                }
+            }
+            return hedge.initialDelay().toNanos();
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.eduplatform.gateway.resilience;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.timelimiter.TimeLimiterConfig;
+import org.springframework.cloud.circuitbreaker.resilience4j.ReactiveResilience4JCircuitBreakerFactory;
+import org.springframework.cloud.client.circuitbreaker.Customizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class ResilienceConfig {
+
+    // One circuit breaker per configured route, named by route id
+    @Bean
+    public Customizer<ReactiveResilience4JCircuitBreakerFactory> routeCircuitBreakers(ResilienceProperties properties) {
+        return factory -> properties.routes().forEach((routeId, route) -> {
+            ResilienceProperties.CircuitBreaker circuitBreaker = route.circuitBreaker();
+            if (circuitBreaker == null) {
+                return;
+            }
+            factory.configure(builder -> builder
+                    .circuitBreakerConfig(CircuitBreakerConfig.custom()
+                            .slidingWindowType(CircuitBreakerConfig.SlidingWindowType.COUNT_BASED)
+                            .slidingWindowSize(circuitBreaker.slidingWindowSize())
+                            .minimumNumberOfCalls(circuitBreaker.minimumNumberOfCalls())
+                            .failureRateThreshold(circuitBreaker.failureRateThreshold())
+                            .waitDurationInOpenState(circuitBreaker.waitInOpenState())
+                            // After the wait a few probe requests decide whether the circuit closes again
+                            .permittedNumberOfCallsInHalfOpenState(circuitBreaker.halfOpenCalls())
+                            .automaticTransitionFromOpenToHalfOpenEnabled(true)
+                            .build())
+                    // Bounds the whole exchange including the body; response-timeout bounds the wait for headers
+                    .timeLimiterConfig(TimeLimiterConfig.custom()
+                            .timeoutDuration(circuitBreaker.timeLimit())
+                            .build()), routeId);
+        });
+    }
+}
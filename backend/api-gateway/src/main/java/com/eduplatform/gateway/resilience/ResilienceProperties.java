@@ -0,0 +1,61 @@
+package com.eduplatform.gateway.resilience;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+// Timeouts, circuit breakers, retries and hedging per route id, e.g. gateway.resilience.routes.course-service.retry
+@ConfigurationProperties(prefix = "gateway.resilience")
+public record ResilienceProperties(
+        @DefaultValue Map<String, RouteResilience> routes
+) {
+
+    // Only response-timeout and budget have defaults; the other sections are off unless configured
+    public record RouteResilience(
+            @DefaultValue("10s") Duration responseTimeout,
+            CircuitBreaker circuitBreaker,
+            Retry retry,
+            Hedge hedge,
+            @DefaultValue Budget budget
+    ) {
+    }
+
+    public record CircuitBreaker(
+            @DefaultValue("50") float failureRateThreshold,
+            @DefaultValue("50") int slidingWindowSize,
+            @DefaultValue("20") int minimumNumberOfCalls,
+            @DefaultValue("10s") Duration waitInOpenState,
+            @DefaultValue("5") int halfOpenCalls,
+            @DefaultValue("30s") Duration timeLimit
+    ) {
+    }
+
+    // GET requests only; attempts beyond the first are paid for from the route's budget
+    public record Retry(
+            @DefaultValue("2") int maxRetries,
+            @DefaultValue("50ms") Duration backoff
+    ) {
+    }
+
+    // GET requests only: a second instance is asked once the first hasn't answered within the
+    // route's recent latency percentile, and the first response wins. Only requests whose path
+    // matches one of paths (client-facing path patterns) are hedged; with none, nothing is.
+    public record Hedge(
+            @DefaultValue List<String> paths,
+            @DefaultValue("0.95") double percentile,
+            @DefaultValue("10ms") Duration minDelay,
+            @DefaultValue("250ms") Duration initialDelay,
+            @DefaultValue("100") int minSamples
+    ) {
+    }
+
+    // Each request earns ratio of a retry, up to max-tokens banked; retries and hedges spend one each
+    public record Budget(
+            @DefaultValue("0.1") double ratio,
+            @DefaultValue("10") int maxTokens
+    ) {
+    }
+}
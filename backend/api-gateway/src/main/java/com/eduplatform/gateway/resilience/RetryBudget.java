@@ -0,0 +1,52 @@
+package com.eduplatform.gateway.resilience;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Caps extra upstream load from retries and hedges at a fraction of real traffic per route, so a
+// failing service sees at most (1 + ratio) times its normal load instead of (1 + max-retries) times
+@Component
+public class RetryBudget {
+
+    private static final long TOKEN = 1000;
+
+    private final MeterRegistry meterRegistry;
+
+    // Balance per route id, in thousandths of a token
+    private final ConcurrentMap<String, AtomicLong> balances = new ConcurrentHashMap<>();
+
+    public RetryBudget(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public void recordRequest(String routeId, ResilienceProperties.Budget budget) {
+        long deposit = Math.round(budget.ratio() * TOKEN);
+        long max = budget.maxTokens() * TOKEN;
+        balance(routeId, budget).accumulateAndGet(deposit, (current, amount) -> Math.min(max, current + amount));
+    }
+
+    // kind is "retry" or "hedge", for metrics only
+    public boolean tryAcquire(String routeId, ResilienceProperties.Budget budget, String kind) {
+        AtomicLong balance = balance(routeId, budget);
+        long current;
+        do {
+            current = balance.get();
+            if (current < TOKEN) {
+                meterRegistry.counter("gateway.resilience.budget.exhausted", "route", routeId, "kind", kind).increment();
+                return false;
+            }
+        } while (!balance.compareAndSet(current, current - TOKEN));
+
+        meterRegistry.counter("gateway.resilience.attempts", "route", routeId, "kind", kind).increment();
+        return true;
+    }
+
+    // Starts full so the first failures after startup can still be retried
+    private AtomicLong balance(String routeId, ResilienceProperties.Budget budget) {
+        return balances.computeIfAbsent(routeId, id -> new AtomicLong(budget.maxTokens() * TOKEN));
+    }
+}
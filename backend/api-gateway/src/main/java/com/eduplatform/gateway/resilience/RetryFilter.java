@@ -0,0 +1,109 @@
+package com.eduplatform.gateway.resilience;
+
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.RouteToRequestUrlFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.netty.Connection;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeoutException;
+
+// Retries idempotent GETs after connection errors, timeouts and 502/503/504, with jittered exponential
+// backoff and only while the route's retry budget allows. Also feeds the budget with every request.
+@Component
+public class RetryFilter implements GlobalFilter, Ordered {
+
+    // Before the request URL is resolved, so each attempt goes through the load balancer again
+    public static final int RETRY_FILTER_ORDER = RouteToRequestUrlFilter.ROUTE_TO_URL_FILTER_ORDER - 1;
+
+    private final ResilienceProperties properties;
+    private final RetryBudget budget;
+
+    public RetryFilter(ResilienceProperties properties, RetryBudget budget) {
+        this.properties = properties;
+        this.budget = budget;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        ResilienceProperties.RouteResilience config = route != null ? properties.routes().get(route.getId()) : null;
+        if (config == null) {
+            return chain.filter(exchange);
+        }
+
+        budget.recordRequest(route.getId(), config.budget());
+        if (config.retry() == null || exchange.getRequest().getMethod() != HttpMethod.GET) {
+            return chain.filter(exchange);
+        }
+        return attempt(exchange, chain, route.getId(), config, 0);
+    }
+
+    private Mono<Void> attempt(ServerWebExchange exchange, GatewayFilterChain chain, String routeId,
+                               ResilienceProperties.RouteResilience config, int retries) {
+        return chain.filter(exchange)
+                .thenReturn(Optional.<Throwable>empty())
+                .onErrorResume(e -> Mono.just(Optional.of(e)))
+                .flatMap(error -> {
+                    boolean retryable = error.isPresent()
+                            ? isRetryable(error.get())
+                            : isUnavailable(exchange.getResponse().getStatusCode());
+
+                    if (retryable
+                            && retries < config.retry().maxRetries()
+                            && !exchange.getResponse().isCommitted()
+                            && budget.tryAcquire(routeId, config.budget(), "retry")) {
+                        reset(exchange);
+                        return Mono.delay(backoff(config.retry(), retries))
+                                .then(attempt(exchange, chain, routeId, config, retries + 1));
+                    }
+                    return error.map(Mono::<Void>error).orElseGet(Mono::empty);
+                });
+    }
+
+    // Full jitter over an exponentially growing window, so retrying gateways don't synchronise
+    private static Duration backoff(ResilienceProperties.Retry retry, int retries) {
+        long windowNanos = retry.backoff().toNanos() << retries;
+        return Duration.ofNanos(windowNanos / 2 + ThreadLocalRandom.current().nextLong(windowNanos / 2 + 1));
+    }
+
+    // Drops what the failed attempt left on the exchange so the next one starts clean
+    private static void reset(ServerWebExchange exchange) {
+        Connection connection = exchange.getAttribute(ServerWebExchangeUtils.CLIENT_RESPONSE_CONN_ATTR);
+        if (connection != null) {
+            // The failed response's body is never read, so the connection can't go back to the pool
+            connection.dispose();
+            exchange.getAttributes().remove(ServerWebExchangeUtils.CLIENT_RESPONSE_CONN_ATTR);
+        }
+        exchange.getResponse().setStatusCode(null);
+        ServerWebExchangeUtils.reset(exchange);
+    }
+
+    private static boolean isRetryable(Throwable e) {
+        if (e instanceof ResponseStatusException rse) {
+            return isUnavailable(rse.getStatusCode());
+        }
+        return e instanceof IOException || e instanceof TimeoutException;
+    }
+
+    static boolean isUnavailable(HttpStatusCode status) {
+        return status != null && (status.value() == 502 || status.value() == 503 || status.value() == 504);
+    }
+
+    @Override
+    public int getOrder() {
+        return RETRY_FILTER_ORDER;
+    }
+}
@@ -0,0 +1,36 @@
+package com.eduplatform.gateway.resilience;
+
+import org.springframework.cloud.gateway.route.builder.GatewayFilterSpec;
+import org.springframework.cloud.gateway.route.builder.UriSpec;
+import org.springframework.cloud.gateway.support.RouteMetadataUtils;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+
+// Adds the configured response timeout and circuit breaker to a route in customRouteLocator.
+// Retries and hedging are applied per request by RetryFilter and HedgingFilter.
+@Component
+public class RouteResilience {
+
+    // Upstream answers that count as failures for the circuit breaker; the response itself is still passed on
+    private static final Set<String> FAILURE_STATUSES = Set.of("502", "503", "504");
+
+    private final ResilienceProperties properties;
+
+    public RouteResilience(ResilienceProperties properties) {
+        this.properties = properties;
+    }
+
+    public UriSpec apply(String routeId, GatewayFilterSpec filters) {
+        ResilienceProperties.RouteResilience route = properties.routes().get(routeId);
+        if (route == null) {
+            return filters;
+        }
+        if (route.circuitBreaker() != null) {
+            // Without a fallback URI an open circuit fails with 503 and a time limit with 504,
+            // both rendered by GlobalExceptionHandler
+            filters.circuitBreaker(config -> config.setName(routeId).setStatusCodes(FAILURE_STATUSES));
+        }
+        return filters.metadata(RouteMetadataUtils.RESPONSE_TIMEOUT_ATTR, route.responseTimeout().toMillis());
+    }
+}
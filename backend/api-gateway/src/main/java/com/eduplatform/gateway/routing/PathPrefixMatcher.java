@@ -0,0 +1,84 @@
+package com.eduplatform.gateway.routing;
+
+import java.util.Arrays;
+
+// Character trie over path prefixes. Built once at startup and only read afterwards,
+// so lookups walk the path with charAt() and never allocate.
+public class PathPrefixMatcher<T> {
+
+    private final Node<T> root = new Node<>();
+
+    // "/prefix/**" matches "/prefix" and anything below it; any other pattern is a raw startsWith prefix
+    public PathPrefixMatcher<T> add(String pattern, T value) {
+        if (pattern.endsWith("/**")) {
+            node(pattern.substring(0, pattern.length() - 3)).segmentValue = value;
+        } else {
+            node(pattern).prefixValue = value;
+        }
+        return this;
+    }
+
+    // Returns the value of the longest registered prefix of the path, or null
+    public T match(String path) {
+        Node<T> node = root;
+        T best = null;
+        int length = path.length();
+
+        for (int i = 0; node != null; i++) {
+            if (node.prefixValue != null) {
+                best = node.prefixValue;
+            }
+            if (node.segmentValue != null && (i == length || path.charAt(i) == '/')) {
+                best = node.segmentValue;
+            }
+            if (i == length) {
+                break;
+            }
+            node = node.child(path.charAt(i));
+        }
+        return best;
+    }
+
+    public boolean matches(String path) {
+        return match(path) != null;
+    }
+
+    private Node<T> node(String prefix) {
+        Node<T> node = root;
+        for (int i = 0; i < prefix.length(); i++) {
+            node = node.childOrCreate(prefix.charAt(i));
+        }
+        return node;
+    }
+
+    private static class Node<T> {
+        private char[] keys = new char[0];
+        @SuppressWarnings("unchecked")
+        private Node<T>[] children = new Node[0];
+        private T prefixValue;
+        private T segmentValue;
+
+        Node<T> child(char c) {
+            char[] k = keys;
+            for (int i = 0; i < k.length; i++) {
+                if (k[i] == c) {
+                    return children[i];
+                }
+            }
+            return null;
+        }
+
+        Node<T> childOrCreate(char c) {
+            Node<T> existing = child(c);
+            if (existing != null) {
+                return existing;
+            }
+            Node<T> created = new Node<>();
+            keys = Arrays.copyOf(keys, keys.length + 1);
+            children = Arrays.copyOf(children, children.length + 1);
+            keys[keys.length - 1] = c;
+            children[children.length - 1] = created;
+            return created;
+        }
+    }
+}
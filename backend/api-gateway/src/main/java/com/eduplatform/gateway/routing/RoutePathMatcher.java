@@ -0,0 +1,57 @@
+package com.eduplatform.gateway.routing;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+// Resolves a request path to its route id with a single trie lookup per request
+@Component
+public class RoutePathMatcher {
+
+    private static final String MATCHED_ROUTE_ATTR = RoutePathMatcher.class.getName() + ".matchedRoute";
+    private static final String NO_ROUTE = "";
+
+    private static final Map<String, List<String>> ROUTE_PATHS = new LinkedHashMap<>();
+
+    static {
+        ROUTE_PATHS.put("auth-service", List.of("/api/auth/**"));
+        ROUTE_PATHS.put("user-service", List.of("/api/users/**"));
+        ROUTE_PATHS.put("course-bulk", List.of("/api/courses/import/**", "/api/courses/export/**"));
+        ROUTE_PATHS.put("course-service", List.of("/api/courses/**"));
+        ROUTE_PATHS.put("content-service", List.of("/api/content/**", "/api/videos/**"));
+        ROUTE_PATHS.put("assessment-service", List.of("/api/quizzes/**", "/api/assignments/**"));
+        ROUTE_PATHS.put("progress-service", List.of("/api/progress/**", "/api/analytics/**"));
+        ROUTE_PATHS.put("payment-service", List.of("/api/payments/**", "/api/subscriptions/**"));
+        ROUTE_PATHS.put("notification-service", List.of("/api/notifications/**"));
+    }
+
+    private final PathPrefixMatcher<String> matcher = new PathPrefixMatcher<>();
+
+    public RoutePathMatcher() {
+        ROUTE_PATHS.forEach((routeId, patterns) -> patterns.forEach(pattern -> matcher.add(pattern, routeId)));
+    }
+
+    // Route predicate for the RouteLocator; every route shares the lookup cached on the exchange
+    public Predicate<ServerWebExchange> matches(String routeId) {
+        if (!ROUTE_PATHS.containsKey(routeId)) {
+            throw new IllegalArgumentException("No paths registered for route: " + routeId);
+        }
+        return exchange -> routeId.equals(resolve(exchange));
+    }
+
+    public String resolve(ServerWebExchange exchange) {
+        String routeId = exchange.getAttribute(MATCHED_ROUTE_ATTR);
+        if (routeId == null) {
+            routeId = matcher.match(exchange.getRequest().getPath().value());
+            if (routeId == null) {
+                routeId = NO_ROUTE;
+            }
+            exchange.getAttributes().put(MATCHED_ROUTE_ATTR, routeId);
+        }
+        return routeId.isEmpty() ? null : routeId;
+    }
+}
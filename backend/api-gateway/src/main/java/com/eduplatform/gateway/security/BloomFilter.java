@@ -0,0 +1,57 @@
+package com.eduplatform.gateway.security;
+
+import java.util.Collection;
+
+// Immutable Bloom filter over strings, built in one go. A negative answer is definite, so the
+// common "not revoked" check costs a few bit probes and no hash-set lookup.
+final class BloomFilter {
+
+    private static final int HASH_FUNCTIONS = 7; // optimal for a ~1% false-positive rate
+
+    private final long[] bits;
+    private final int bitCount;
+
+    BloomFilter(Collection<String> values, int expectedEntries) {
+        // ~9.6 bits per entry gives ~1% false positives at the expected size
+        int entries = Math.max(1, Math.max(expectedEntries, values.size()));
+        long size = Math.max(64, (long) Math.ceil(entries * 9.6));
+        this.bitCount = (int) Math.min(size, Integer.MAX_VALUE - 63);
+        this.bits = new long[(bitCount + 63) >>> 6];
+        for (String value : values) {
+            add(value);
+        }
+    }
+
+    boolean mightContain(String value) {
+        long hash = hash(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < HASH_FUNCTIONS; i++) {
+            int bit = Math.floorMod(h1 + i * h2, bitCount);
+            if ((bits[bit >>> 6] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void add(String value) {
+        long hash = hash(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < HASH_FUNCTIONS; i++) {
+            int bit = Math.floorMod(h1 + i * h2, bitCount);
+            bits[bit >>> 6] |= 1L << bit;
+        }
+    }
+
+    // 64-bit FNV-1a split into two 32-bit hashes (Kirsch-Mitzenmacher double hashing)
+    private static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,124 @@
+package com.eduplatform.gateway.security;
+
+import io.jsonwebtoken.security.SignatureException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.math.BigInteger;
+import java.security.AlgorithmParameters;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.ECParameterSpec;
+import java.security.spec.ECPoint;
+import java.security.spec.ECPublicKeySpec;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+// EC public keys published by the user service at /.well-known/jwks.json, by kid.
+// Refreshed in the background; a failed or empty fetch keeps the last good key set, so a
+// user-service outage never stops the gateway from verifying tokens it could verify before.
+@Component
+public class JwksKeyProvider {
+
+    private static final Logger log = LoggerFactory.getLogger(JwksKeyProvider.class);
+
+    private final WebClient webClient;
+    private final Duration fetchTimeout;
+    private final long minRefreshIntervalMillis;
+    private final ECParameterSpec p256;
+
+    private volatile Map<String, PublicKey> keys = Map.of();
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+    private final AtomicLong lastRefreshAttempt = new AtomicLong();
+
+    public JwksKeyProvider(WebClient.Builder webClientBuilder,
+                           @Value("${jwt.jwks.uri:http://user-management-service:8081/.well-known/jwks.json}") String jwksUri,
+                           @Value("${jwt.jwks.fetch-timeout:3s}") Duration fetchTimeout,
+                           @Value("${jwt.jwks.min-refresh-interval:30s}") Duration minRefreshInterval) throws GeneralSecurityException {
+        this.webClient = webClientBuilder.baseUrl(jwksUri).build();
+        this.fetchTimeout = fetchTimeout;
+        this.minRefreshIntervalMillis = minRefreshInterval.toMillis();
+
+        AlgorithmParameters parameters = AlgorithmParameters.getInstance("EC");
+        parameters.init(new ECGenParameterSpec("secp256r1"));
+        this.p256 = parameters.getParameterSpec(ECParameterSpec.class);
+    }
+
+    // Called from the verification path, so it never blocks: an unknown kid triggers a background
+    // refresh (at most once per min-refresh-interval) and fails this token
+    public PublicKey resolve(String keyId) {
+        PublicKey key = keyId != null ? keys.get(keyId) : null;
+        if (key == null) {
+            refreshSoon();
+            throw new SignatureException("Unknown signing key: " + keyId);
+        }
+        return key;
+    }
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${jwt.jwks.refresh-interval:300000}")
+    public void refresh() {
+        lastRefreshAttempt.set(System.currentTimeMillis());
+        if (!refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        webClient.get()
+                .retrieve()
+                .bodyToMono(JwkSet.class)
+                .timeout(fetchTimeout)
+                .doFinally(signal -> refreshing.set(false))
+                .subscribe(this::apply, e -> log.warn("JWKS refresh failed, keeping {} known keys: {}", keys.size(), e.getMessage()));
+    }
+
+    private void refreshSoon() {
+        long last = lastRefreshAttempt.get();
+        long now = System.currentTimeMillis();
+        if (now - last >= minRefreshIntervalMillis && lastRefreshAttempt.compareAndSet(last, now)) {
+            refresh();
+        }
+    }
+
+    private void apply(JwkSet jwkSet) {
+        Map<String, PublicKey> parsed = new HashMap<>();
+        if (jwkSet.keys() != null) {
+            for (Map<String, String> jwk : jwkSet.keys()) {
+                if (!"EC".equals(jwk.get("kty")) || !"P-256".equals(jwk.get("crv")) || jwk.get("kid") == null) {
+                    continue;
+                }
+                try {
+                    parsed.put(jwk.get("kid"), toPublicKey(jwk.get("x"), jwk.get("y")));
+                } catch (GeneralSecurityException | IllegalArgumentException e) {
+                    log.warn("Skipping invalid JWK {}: {}", jwk.get("kid"), e.getMessage());
+                }
+            }
+        }
+
+        if (parsed.isEmpty()) {
+            log.warn("JWKS contained no usable keys, keeping {} known keys", keys.size());
+            return;
+        }
+        if (!parsed.keySet().equals(keys.keySet())) {
+            log.info("Loaded JWKS signing keys: {}", parsed.keySet());
+        }
+        keys = Map.copyOf(parsed);
+    }
+
+    private PublicKey toPublicKey(String x, String y) throws GeneralSecurityException {
+        Base64.Decoder decoder = Base64.getUrlDecoder();
+        ECPoint point = new ECPoint(new BigInteger(1, decoder.decode(x)), new BigInteger(1, decoder.decode(y)));
+        return KeyFactory.getInstance("EC").generatePublic(new ECPublicKeySpec(point, p256));
+    }
+
+    record JwkSet(List<Map<String, String>> keys) {
+    }
+}
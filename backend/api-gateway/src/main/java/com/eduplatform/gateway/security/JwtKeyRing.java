@@ -0,0 +1,109 @@
+package com.eduplatform.gateway.security;
+
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.SecretKey;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+
+// HMAC verification keys by key id (the JWT "kid" header), mirroring the user service's key ring.
+// Keys from jwt.keys are fixed at startup; keys in jwt.key-file are re-read when the file changes,
+// so a rotated secret can be added here before the user service starts signing with it.
+//
+// Key file format (java.util.Properties, same file as the user service; active-key-id is ignored here):
+//   keys.2026-10=<secret>
+//   keys.2026-07=<previous secret, kept until its tokens expire>
+@Component
+public class JwtKeyRing {
+
+    private static final Logger log = LoggerFactory.getLogger(JwtKeyRing.class);
+
+    // Key id assumed for tokens issued before kid headers were introduced (signed with jwt.secret)
+    public static final String LEGACY_KEY_ID = "default";
+
+    private final Map<String, String> configuredSecrets = new LinkedHashMap<>();
+    private final Path keyFile;
+
+    private volatile KeySet keySet;
+    private volatile long keyFileModified = -1;
+
+    public JwtKeyRing(Environment environment,
+                      @Value("${jwt.secret:}") String legacySecret,
+                      @Value("${jwt.key-file:}") String keyFile) {
+        if (!legacySecret.isBlank()) {
+            configuredSecrets.put(LEGACY_KEY_ID, legacySecret);
+        }
+        configuredSecrets.putAll(Binder.get(environment)
+                .bind("jwt.keys", Bindable.mapOf(String.class, String.class))
+                .orElse(Map.of()));
+        this.keyFile = keyFile.isBlank() ? null : Path.of(keyFile);
+
+        this.keySet = load();
+    }
+
+    public SecretKey resolve(String keyId) {
+        SecretKey key = keySet.keys().get(keyId != null ? keyId : LEGACY_KEY_ID);
+        if (key == null) {
+            throw new SignatureException("Unknown signing key: " + keyId);
+        }
+        return key;
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.key-reload-interval:60000}")
+    public void reloadIfChanged() {
+        if (keyFile == null) {
+            return;
+        }
+        try {
+            long modified = Files.getLastModifiedTime(keyFile).toMillis();
+            if (modified != keyFileModified) {
+                keySet = load();
+                log.info("Reloaded JWT verification keys from {}: {}", keyFile, keySet.keys().keySet());
+            }
+        } catch (IOException | RuntimeException e) {
+            // Keep verifying with the last good key set
+            log.error("Failed to reload JWT verification keys from {}: {}", keyFile, e.getMessage());
+        }
+    }
+
+    private KeySet load() {
+        Map<String, String> secrets = new LinkedHashMap<>(configuredSecrets);
+
+        if (keyFile != null) {
+            Properties properties = new Properties();
+            try (Reader reader = Files.newBufferedReader(keyFile, StandardCharsets.UTF_8)) {
+                keyFileModified = Files.getLastModifiedTime(keyFile).toMillis();
+                properties.load(reader);
+            } catch (IOException e) {
+                throw new IllegalStateException("Cannot read JWT key file " + keyFile, e);
+            }
+            for (String name : properties.stringPropertyNames()) {
+                if (name.startsWith("keys.")) {
+                    secrets.put(name.substring("keys.".length()), properties.getProperty(name));
+                }
+            }
+        }
+
+        Map<String, SecretKey> keys = new LinkedHashMap<>();
+        secrets.forEach((keyId, secret) -> keys.put(keyId, Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8))));
+        return new KeySet(Map.copyOf(keys));
+    }
+
+    private record KeySet(Map<String, SecretKey> keys) {
+    }
+}
@@ -0,0 +1,77 @@
+package com.eduplatform.gateway.security;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Sessions revoked by the user service (logout, refresh-token reuse), checked for every token
+// without a network hop. The full list is polled and swapped in as a new snapshot; if the user
+// service can't be reached the last snapshot stays in force.
+@Component
+public class RevocationList {
+
+    private static final Logger log = LoggerFactory.getLogger(RevocationList.class);
+
+    private final WebClient webClient;
+    private final Duration fetchTimeout;
+    private final int expectedEntries;
+    private final AtomicBoolean polling = new AtomicBoolean();
+
+    private volatile Snapshot snapshot;
+
+    public RevocationList(WebClient.Builder webClientBuilder,
+                          @Value("${jwt.revocation.uri:http://user-management-service:8081/api/auth/revocations}") String revocationUri,
+                          @Value("${jwt.revocation.fetch-timeout:3s}") Duration fetchTimeout,
+                          @Value("${jwt.revocation.expected-entries:100000}") int expectedEntries) {
+        this.webClient = webClientBuilder.baseUrl(revocationUri).build();
+        this.fetchTimeout = fetchTimeout;
+        this.expectedEntries = expectedEntries;
+        this.snapshot = new Snapshot(new BloomFilter(Set.of(), expectedEntries), Set.of());
+    }
+
+    public boolean isRevoked(String sessionId) {
+        if (sessionId == null) {
+            return false;
+        }
+        Snapshot current = snapshot;
+        // Only Bloom filter hits (revoked, or a ~1% false positive) pay for the exact lookup
+        return current.filter().mightContain(sessionId) && current.sessionIds().contains(sessionId);
+    }
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${jwt.revocation.poll-interval:5000}")
+    public void poll() {
+        if (!polling.compareAndSet(false, true)) {
+            return;
+        }
+        webClient.get()
+                .retrieve()
+                .bodyToMono(RevocationListResponse.class)
+                .timeout(fetchTimeout)
+                .doFinally(signal -> polling.set(false))
+                .subscribe(this::apply, e -> log.warn("Revocation list refresh failed, keeping {} revoked sessions: {}",
+                        snapshot.sessionIds().size(), e.getMessage()));
+    }
+
+    private void apply(RevocationListResponse response) {
+        Set<String> sessionIds = response.sessionIds() != null ? Set.copyOf(response.sessionIds()) : Set.of();
+        if (sessionIds.equals(snapshot.sessionIds())) {
+            return;
+        }
+        snapshot = new Snapshot(new BloomFilter(sessionIds, expectedEntries), sessionIds);
+        log.debug("Revocation list updated: {} revoked sessions", sessionIds.size());
+    }
+
+    private record Snapshot(BloomFilter filter, Set<String> sessionIds) {
+    }
+
+    record RevocationListResponse(List<String> sessionIds) {
+    }
+}
@@ -0,0 +1,37 @@
+package com.eduplatform.gateway.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.stream.Collectors;
+
+// Claims the gateway forwards downstream, kept once the token signature has been verified
+// roles is comma-separated, e.g. "INSTRUCTOR,ADMIN", and forwarded as X-User-Role
+public record VerifiedToken(String userId, String email, String roles, String sessionId, Instant expiresAt) {
+
+    static final String TOKEN_USE_CLAIM = "token_use";
+    static final String ACCESS_TOKEN = "access";
+
+    // Refresh tokens are signed with the same key; only access tokens are accepted as bearer tokens
+    static VerifiedToken from(Claims claims) {
+        if (!ACCESS_TOKEN.equals(claims.get(TOKEN_USE_CLAIM, String.class))) {
+            throw new JwtException("Not an access token");
+        }
+        return new VerifiedToken(
+                claims.getSubject(),
+                claims.get("email", String.class),
+                roles(claims.get("roles")),
+                claims.get("sid", String.class),
+                claims.getExpiration() != null ? claims.getExpiration().toInstant() : null
+        );
+    }
+
+    private static String roles(Object claim) {
+        if (claim instanceof Collection<?> roles) {
+            return roles.stream().map(String::valueOf).collect(Collectors.joining(","));
+        }
+        return claim != null ? claim.toString() : null;
+    }
+}
@@ -0,0 +1,128 @@
+package com.eduplatform.gateway.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+
+@Component
+public class VerifiedTokenCache {
+
+    private final JwtParser jwtParser;
+    private final Cache<String, VerifiedToken> cache;
+    private final RevocationList revocationList;
+    private final Timer verifyTimer;
+
+    public VerifiedTokenCache(JwtKeyRing keyRing,
+                              JwksKeyProvider jwksKeyProvider,
+                              RevocationList revocationList,
+                              @Value("${jwt.accept-hmac:false}") boolean acceptHmac,
+                              @Value("${jwt.cache.max-size:10000}") long maxSize,
+                              @Value("${jwt.cache.max-ttl:15m}") Duration maxTtl,
+                              MeterRegistry meterRegistry) {
+        // JwtParser is immutable and thread-safe, so a single instance serves every request;
+        // the verification key is looked up per token from its kid header: ES256 tokens against
+        // the user service's JWKS, HMAC tokens against the shared key ring, and only while
+        // jwt.accept-hmac is on (during a switch between algorithms); otherwise anyone holding the
+        // secret could mint tokens the gateway accepts
+        this.jwtParser = Jwts.parserBuilder()
+                .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                    @Override
+                    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                        if (SignatureAlgorithm.ES256.getValue().equals(header.getAlgorithm())) {
+                            return jwksKeyProvider.resolve(header.getKeyId());
+                        }
+                        if (!acceptHmac) {
+                            throw new UnsupportedJwtException("HMAC-signed tokens are not accepted");
+                        }
+                        return keyRing.resolve(header.getKeyId());
+                    }
+                })
+                .build();
+
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new TokenExpiry(maxTtl))
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "jwt.verified-tokens");
+        this.revocationList = revocationList;
+        // Only cache misses pay for signature verification, so this is timed separately from the lookup
+        this.verifyTimer = Timer.builder("gateway.jwt.verify")
+                .description("Time spent parsing and verifying a token on a cache miss")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    // Returns the verified claims, only parsing and checking the signature on a cache miss.
+    // Revocation is checked on every call, so a session revoked after its token was cached is still rejected.
+    // Refresh tokens fail in VerifiedToken.from, so they are never cached or accepted.
+    public VerifiedToken verify(String token) {
+        VerifiedToken verified = cache.get(digest(token), key -> verifyTimer.record(() -> VerifiedToken.from(jwtParser.parseClaimsJws(token).getBody())));
+        if (revocationList.isRevoked(verified.sessionId())) {
+            throw new JwtException("Session revoked");
+        }
+        return verified;
+    }
+
+    // Entries are keyed by a digest so raw bearer tokens are never retained on the heap
+    private static String digest(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            byte[] hash = sha256.digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    // Evicts an entry when the token's exp passes, capped so tokens without exp don't live forever
+    private static class TokenExpiry implements Expiry<String, VerifiedToken> {
+
+        private final long maxTtlNanos;
+
+        TokenExpiry(Duration maxTtl) {
+            this.maxTtlNanos = maxTtl.toNanos();
+        }
+
+        @Override
+        public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+            if (value.expiresAt() == null) {
+                return maxTtlNanos;
+            }
+            long untilExpiry = Duration.between(Instant.now(), value.expiresAt()).toNanos();
+            return Math.max(0, Math.min(untilExpiry, maxTtlNanos));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+-- Token bucket over one or more keys, checked and consumed atomically.
+-- KEYS: bucket keys
+-- ARGV[1]: tokens requested, then replenish rate (tokens/second) and burst capacity for each key.
+-- Time comes from the Redis server, so gateway replicas with skewed clocks share one timeline.
+-- Returns { allowed, tokens remaining, retry-after millis, index of the limiting key }.
+
+local time = redis.call('TIME')
+local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+local requested = tonumber(ARGV[1])
+
+local allowed = 1
+local remaining = -1
+local retry_after = 0
+local limited = 0
+local buckets = {}
+
+for i, key in ipairs(KEYS) do
+  local rate = tonumber(ARGV[i * 2])
+  local capacity = tonumber(ARGV[1 + i * 2])
+
+  local state = redis.call('HMGET', key, 'tokens', 'ts')
+  local tokens = tonumber(state[1])
+  local ts = tonumber(state[2])
+  if tokens == nil or ts == nil then
+    tokens = capacity
+    ts = now
+  end
+
+  tokens = math.min(capacity, tokens + math.max(0, now - ts) * rate / 1000)
+
+  if tokens < requested then
+    local wait = math.ceil((requested - tokens) * 1000 / rate)
+    allowed = 0
+    if wait > retry_after then
+      retry_after = wait
+      limited = i
+    end
+  end
+
+  buckets[i] = { key, tokens, math.ceil(capacity * 2000 / rate) }
+end
+
+for _, bucket in ipairs(buckets) do
+  local tokens = bucket[2]
+  if allowed == 1 then
+    tokens = tokens - requested
+  end
+  if remaining < 0 or tokens < remaining then
+    remaining = tokens
+  end
+  redis.call('HSET', bucket[1], 'tokens', tokens, 'ts', now)
+  redis.call('PEXPIRE', bucket[1], bucket[3])
+end
+
+return { allowed, math.floor(math.max(remaining, 0)), retry_after, limited }
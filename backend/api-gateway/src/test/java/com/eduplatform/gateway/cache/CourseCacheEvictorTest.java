@@ -0,0 +1,50 @@
+package com.eduplatform.gateway.cache;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.reactivestreams.Publisher;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class CourseCacheEvictorTest {
+
+    private final ReactiveStringRedisTemplate redisTemplate = mock(ReactiveStringRedisTemplate.class);
+
+    @Test
+    void courseEventsDeleteEveryCachedCourseResponse() {
+        Flux<String> keys = Flux.just("gw:cache:course-service:/courses?page=0", "gw:cache:course-service:/courses/42");
+        doReturn(keys).when(redisTemplate).scan(any(ScanOptions.class));
+        doReturn(Mono.just(2L)).when(redisTemplate).delete(any(Publisher.class));
+
+        evictor(true).onCourseEvents(List.of("{\"type\":\"CourseUpdated\"}", "{\"type\":\"CourseCreated\"}"));
+
+        ArgumentCaptor<ScanOptions> options = ArgumentCaptor.forClass(ScanOptions.class);
+        verify(redisTemplate).scan(options.capture());
+        assertThat(options.getValue().getPattern()).isEqualTo("gw:cache:course-service:*");
+        verify(redisTemplate).delete(keys);
+    }
+
+    @Test
+    void nothingIsScannedWhileTheCacheIsDisabled() {
+        evictor(false).onCourseEvents(List.of("{\"type\":\"CourseUpdated\"}"));
+
+        verify(redisTemplate, never()).scan(any(ScanOptions.class));
+    }
+
+    private CourseCacheEvictor evictor(boolean enabled) {
+        return new CourseCacheEvictor(redisTemplate, new ResponseCacheProperties(enabled,
+                Map.of(CourseCacheEvictor.COURSE_ROUTE_ID, new ResponseCacheProperties.RouteCache(null, null))));
+    }
+}
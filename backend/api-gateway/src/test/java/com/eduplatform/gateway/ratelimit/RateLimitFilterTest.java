@@ -0,0 +1,124 @@
+package com.eduplatform.gateway.ratelimit;
+
+import com.eduplatform.gateway.security.VerifiedTokenCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+// Redis is stood in for by a mock answering with the script's result tuple
+// { allowed, remaining, retry-after millis, index of the limiting key }
+class RateLimitFilterTest {
+
+    private static final String IP_KEY = "rate:auth-service:ip:10.0.0.1";
+
+    private final ReactiveStringRedisTemplate redisTemplate = mock(ReactiveStringRedisTemplate.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger forwarded = new AtomicInteger();
+    private final GatewayFilterChain chain = exchange -> {
+        forwarded.incrementAndGet();
+        return Mono.empty();
+    };
+
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        RateLimitProperties properties = new RateLimitProperties(true, Map.of("auth-service",
+                new RateLimitProperties.RouteLimit(new RateLimitProperties.Bucket(5, 20), null)));
+        filter = new RateLimitFilter(redisTemplate, properties, mock(VerifiedTokenCache.class), meterRegistry);
+    }
+
+    @Test
+    void allowedRequestIsForwardedWithRemainingTokens() {
+        scriptReturns(Flux.just(List.of(1L, 19L, 0L, 0L)));
+        MockServerWebExchange exchange = loginExchange();
+
+        filter.filter(exchange, chain).block();
+
+        assertThat(forwarded).hasValue(1);
+        assertThat(exchange.getResponse().getHeaders().getFirst("X-RateLimit-Remaining")).isEqualTo("19");
+        verify(redisTemplate).execute(any(RedisScript.class), eq(List.of(IP_KEY)), eq(List.of("1", "5", "20")));
+    }
+
+    @Test
+    void limitedKeyIsRejectedLocallyUntilRetryAfter() {
+        scriptReturns(Flux.just(List.of(0L, 0L, 2000L, 1L)));
+
+        MockServerWebExchange first = loginExchange();
+        filter.filter(first, chain).block();
+        MockServerWebExchange second = loginExchange();
+        filter.filter(second, chain).block();
+
+        assertThat(forwarded).hasValue(0);
+        assertThat(first.getResponse().getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(first.getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("2");
+        assertThat(second.getResponse().getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        // The second request never reached Redis
+        verify(redisTemplate, times(1)).execute(any(RedisScript.class), anyList(), anyList());
+        assertThat(meterRegistry.counter("gateway.ratelimit.rejected", "route", "auth-service", "source", "local").count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void unreachableRedisFailsOpen() {
+        scriptReturns(Flux.error(new IllegalStateException("connection refused")));
+
+        filter.filter(loginExchange(), chain).block();
+
+        assertThat(forwarded).hasValue(1);
+    }
+
+    @Test
+    void routesWithoutLimitsSkipRedis() {
+        MockServerWebExchange exchange = exchange("content-service", "/api/content/intro.mp4");
+
+        filter.filter(exchange, chain).block();
+
+        assertThat(forwarded).hasValue(1);
+        verify(redisTemplate, times(0)).execute(any(RedisScript.class), anyList(), anyList());
+    }
+
+    private void scriptReturns(Flux<List<Long>> result) {
+        doReturn(result).when(redisTemplate).execute(any(RedisScript.class), anyList(), anyList());
+    }
+
+    private static MockServerWebExchange loginExchange() {
+        return exchange("auth-service", "/api/auth/login");
+    }
+
+    private static MockServerWebExchange exchange(String routeId, String path) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.post(path)
+                .remoteAddress(new InetSocketAddress("10.0.0.1", 52000)));
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, Route.async()
+                .id(routeId)
+                .uri("lb://upstream")
+                .predicate(ignored -> true)
+                .build());
+        return exchange;
+    }
+}
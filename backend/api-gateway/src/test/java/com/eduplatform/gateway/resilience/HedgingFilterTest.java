@@ -0,0 +1,144 @@
+package com.eduplatform.gateway.resilience;
+
+import com.eduplatform.gateway.loadbalancer.LoadBalancerProperties;
+import com.eduplatform.gateway.loadbalancer.UpstreamStats;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.reactive.ReactiveLoadBalancer;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.headers.HttpHeadersFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.server.HttpServer;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+// Two real upstreams on local ports: the load balancer picks the slow one first, so a hedged request
+// is answered by the second. Requests reach the filter the way the course-service route leaves them,
+// with /api stripped from the path.
+class HedgingFilterTest {
+
+    private static final String SERVICE_ID = "course-management-service";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger slowRequests = new AtomicInteger();
+    private final AtomicInteger fastRequests = new AtomicInteger();
+    private final AtomicInteger forwarded = new AtomicInteger();
+    private final GatewayFilterChain chain = exchange -> {
+        forwarded.incrementAndGet();
+        return Mono.empty();
+    };
+
+    private DisposableServer slowServer;
+    private DisposableServer fastServer;
+    private HedgingFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        slowServer = upstream(slowRequests, "slow", Duration.ofSeconds(2));
+        fastServer = upstream(fastRequests, "fast", Duration.ZERO);
+
+        List<ServiceInstance> instances = List.of(instance(slowServer), instance(fastServer));
+        AtomicInteger choices = new AtomicInteger();
+        ReactiveLoadBalancer<ServiceInstance> loadBalancer = request ->
+                Mono.just(new DefaultResponse(instances.get(choices.getAndIncrement() % instances.size())));
+        LoadBalancerClientFactory clientFactory = mock(LoadBalancerClientFactory.class);
+        doReturn(loadBalancer).when(clientFactory).getInstance(SERVICE_ID);
+
+        @SuppressWarnings("unchecked")
+        ObjectProvider<List<HttpHeadersFilter>> headersFilters = mock(ObjectProvider.class);
+        doReturn(List.of()).when(headersFilters).getIfAvailable();
+
+        ResilienceProperties.Hedge hedge = new ResilienceProperties.Hedge(List.of("/api/courses", "/api/courses/search"),
+                0.95, Duration.ofMillis(10), Duration.ofMillis(50), 100);
+        ResilienceProperties properties = new ResilienceProperties(Map.of("course-service",
+                new ResilienceProperties.RouteResilience(Duration.ofSeconds(5), null, null, hedge,
+                        new ResilienceProperties.Budget(0.1, 10))));
+
+        filter = new HedgingFilter(properties, new RetryBudget(meterRegistry),
+                new UpstreamStats(new LoadBalancerProperties(5, Duration.ofSeconds(30), Duration.ofSeconds(10))),
+                clientFactory, headersFilters, meterRegistry, HttpClient.create(), WebClient.builder());
+    }
+
+    @AfterEach
+    void tearDown() {
+        slowServer.disposeNow();
+        fastServer.disposeNow();
+    }
+
+    @Test
+    void configuredPathIsSentToASecondInstance() {
+        MockServerWebExchange exchange = exchange("/api/courses");
+
+        filter.filter(exchange, chain).block(Duration.ofSeconds(5));
+
+        assertThat(slowRequests).hasValue(1);
+        assertThat(fastRequests).hasValue(1);
+        assertThat(forwarded).hasValue(0);
+        assertThat(exchange.getResponse().getBodyAsString().block()).isEqualTo("fast");
+        assertThat(meterRegistry.counter("gateway.resilience.attempts", "route", "course-service", "kind", "hedge").count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void otherPathsAreLeftToTheRoutingFilter() {
+        filter.filter(exchange("/api/courses/42"), chain).block(Duration.ofSeconds(5));
+
+        assertThat(forwarded).hasValue(1);
+        assertThat(slowRequests).hasValue(0);
+        assertThat(fastRequests).hasValue(0);
+    }
+
+    private static DisposableServer upstream(AtomicInteger requests, String body, Duration delay) {
+        return HttpServer.create()
+                .host("localhost")
+                .port(0)
+                .handle((request, response) -> {
+                    requests.incrementAndGet();
+                    return response.sendString(Mono.just(body).delayElement(delay));
+                })
+                .bindNow();
+    }
+
+    private static ServiceInstance instance(DisposableServer server) {
+        return new DefaultServiceInstance(SERVICE_ID + "-" + server.port(), SERVICE_ID, "localhost", server.port(), false);
+    }
+
+    private static MockServerWebExchange exchange(String clientPath) {
+        String upstreamPath = clientPath.substring("/api".length());
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get(upstreamPath));
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, Route.async()
+                .id("course-service")
+                .uri("lb://" + SERVICE_ID)
+                .predicate(ignored -> true)
+                .build());
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR, URI.create("lb://" + SERVICE_ID + upstreamPath));
+        Set<URI> originalUrls = new LinkedHashSet<>();
+        originalUrls.add(URI.create("http://localhost:8090" + clientPath));
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ORIGINAL_REQUEST_URL_ATTR, originalUrls);
+        return exchange;
+    }
+}
@@ -0,0 +1,128 @@
+package com.eduplatform.gateway.routing;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Route resolution plus the open-endpoint check for one request: the trie against what the gateway
+// did before, i.e. the routes' Path predicates tried in order and a stream over the open endpoints.
+// The real route table is padded with synthetic services to reach the larger sizes.
+// Run with scripts/perf/jmh-benchmark-mac.sh api-gateway RouteMatchingBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RouteMatchingBenchmark {
+
+    private static final List<String> OPEN_ENDPOINTS = List.of(
+            "/api/auth/login", "/api/auth/register", "/api/auth/refresh", "/api/courses/public");
+
+    @Param({"7", "200"})
+    int routes;
+
+    private final List<RouteEntry> predicateChain = new ArrayList<>();
+    private final PathPrefixMatcher<String> routeTrie = new PathPrefixMatcher<>();
+    private final PathPrefixMatcher<Boolean> openEndpointTrie = new PathPrefixMatcher<>();
+
+    // A mix of early, late, open-endpoint and unmatched paths, cycled through per invocation
+    private String[] paths;
+    private PathContainer[] parsedPaths;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Map<String, List<String>> table = new LinkedHashMap<>();
+        table.put("user-service", List.of("/api/users/**", "/api/auth/**"));
+        table.put("course-service", List.of("/api/courses/**"));
+        table.put("content-service", List.of("/api/content/**", "/api/videos/**"));
+        table.put("assessment-service", List.of("/api/quizzes/**", "/api/assignments/**"));
+        table.put("progress-service", List.of("/api/progress/**", "/api/analytics/**"));
+        table.put("payment-service", List.of("/api/payments/**", "/api/subscriptions/**"));
+        table.put("notification-service", List.of("/api/notifications/**"));
+        for (int i = table.size(); i < routes; i++) {
+            table.put("service-" + i, List.of("/api/service-" + i + "/**", "/api/service-" + i + "-admin/**"));
+        }
+
+        table.forEach((routeId, patterns) -> {
+            predicateChain.add(new RouteEntry(routeId, patterns.stream().map(PathPatternParser.defaultInstance::parse).toList()));
+            patterns.forEach(pattern -> routeTrie.add(pattern, routeId));
+        });
+        OPEN_ENDPOINTS.forEach(endpoint -> openEndpointTrie.add(endpoint, true));
+
+        paths = new String[]{
+                "/api/users/42",
+                "/api/auth/login",
+                "/api/courses/public/17",
+                "/api/courses/search",
+                "/api/notifications/unread",
+                "/api/service-" + (routes - 1) + "/items/9",
+                "/api/unknown/path",
+                "/api/analytics/instructors/3/daily"
+        };
+        parsedPaths = new PathContainer[paths.length];
+        for (int i = 0; i < paths.length; i++) {
+            parsedPaths[i] = PathContainer.parsePath(paths[i]);
+        }
+    }
+
+    @Benchmark
+    public void predicateChain(Blackhole blackhole) {
+        int i = nextIndex();
+        String path = paths[i];
+        PathContainer parsed = parsedPaths[i];
+        String matched = null;
+        for (RouteEntry route : predicateChain) {
+            if (route.matches(parsed)) {
+                matched = route.routeId();
+                break;
+            }
+        }
+        blackhole.consume(matched);
+        blackhole.consume(OPEN_ENDPOINTS.stream().anyMatch(path::startsWith));
+    }
+
+    @Benchmark
+    public void prefixTrie(Blackhole blackhole) {
+        String path = paths[nextIndex()];
+        blackhole.consume(routeTrie.match(path));
+        blackhole.consume(openEndpointTrie.matches(path));
+    }
+
+    private int nextIndex() {
+        int i = next;
+        next = i + 1 == paths.length ? 0 : i + 1;
+        return i;
+    }
+
+    private record RouteEntry(String routeId, List<PathPattern> patterns) {
+
+        boolean matches(PathContainer path) {
+            for (PathPattern pattern : patterns) {
+                if (pattern.matches(path)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.eduplatform.content;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@SpringBootApplication
+@EnableScheduling
+public class ContentDeliveryApplication {
+    public static void main(String[] args) {
+        SpringApplication.run(ContentDeliveryApplication.class, args);
+    }
+}
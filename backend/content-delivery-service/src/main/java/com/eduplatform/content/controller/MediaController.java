@@ -0,0 +1,133 @@
+package com.eduplatform.content.controller;
+
+import com.eduplatform.content.storage.MediaFile;
+import com.eduplatform.content.storage.MediaStorage;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ZeroCopyHttpOutputMessage;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+// Serves lesson media with single-range support for seeking and conditional GETs for client caches.
+// On Reactor Netty the selected byte range goes out as a FileRegion, i.e. sendfile from the page
+// cache to the socket without passing through the heap.
+@RestController
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*", maxAge = 3600)
+public class MediaController {
+
+    // Media ids are never reused, so a cached copy stays valid; private because lessons require a login
+    private static final CacheControl CACHE_CONTROL = CacheControl.maxAge(Duration.ofDays(365)).cachePrivate().immutable();
+
+    // Only used when the server can't do zero-copy writes
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+
+    private final MediaStorage mediaStorage;
+
+    // GET and HEAD
+    @GetMapping({"/api/content/{mediaId}", "/api/videos/{mediaId}"})
+    public Mono<Void> getMedia(@PathVariable String mediaId, ServerWebExchange exchange) {
+        return mediaStorage.findMedia(mediaId)
+                .flatMap(media -> write(exchange, media))
+                .switchIfEmpty(Mono.defer(() -> {
+                    exchange.getResponse().setStatusCode(HttpStatus.NOT_FOUND);
+                    return exchange.getResponse().setComplete();
+                }));
+    }
+
+    private Mono<Void> write(ServerWebExchange exchange, MediaFile media) {
+        ServerHttpRequest request = exchange.getRequest();
+        ServerHttpResponse response = exchange.getResponse();
+        HttpHeaders headers = response.getHeaders();
+
+        headers.set(HttpHeaders.ACCEPT_RANGES, "bytes");
+        headers.setCacheControl(CACHE_CONTROL);
+        if (exchange.checkNotModified(media.etag(), media.lastModified())) {
+            return response.setComplete();
+        }
+        headers.setETag(media.etag());
+        headers.setLastModified(media.lastModified());
+        headers.setContentType(media.mediaType());
+
+        long length = media.size();
+        long start = 0;
+        long count = length;
+
+        HttpRange range = requestedRange(request, media);
+        if (range != null) {
+            try {
+                start = range.getRangeStart(length);
+                count = range.getRangeEnd(length) - start + 1;
+            } catch (IllegalArgumentException e) {
+                response.setStatusCode(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE);
+                headers.set(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                return response.setComplete();
+            }
+            response.setStatusCode(HttpStatus.PARTIAL_CONTENT);
+            headers.set(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + (start + count - 1) + "/" + length);
+        }
+        headers.setContentLength(count);
+
+        if (request.getMethod() == HttpMethod.HEAD) {
+            return response.setComplete();
+        }
+        if (response instanceof ZeroCopyHttpOutputMessage zeroCopy) {
+            return zeroCopy.writeWith(media.path(), start, count);
+        }
+        long position = start;
+        return response.writeWith(DataBufferUtils.takeUntilByteCount(
+                DataBufferUtils.readAsynchronousFileChannel(
+                        () -> AsynchronousFileChannel.open(media.path(), StandardOpenOption.READ),
+                        position, response.bufferFactory(), READ_BUFFER_SIZE),
+                count));
+    }
+
+    // The single range to serve, or null for the whole file. Malformed and multi-range requests get
+    // the whole file, which RFC 9110 allows; players only ever ask for one range. A stale If-Range
+    // also means the whole file, so a client never stitches together bytes of two versions.
+    private static HttpRange requestedRange(ServerHttpRequest request, MediaFile media) {
+        List<HttpRange> ranges;
+        try {
+            ranges = request.getHeaders().getRange();
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        if (ranges.size() != 1 || !ifRangeMatches(request.getHeaders(), media)) {
+            return null;
+        }
+        return ranges.get(0);
+    }
+
+    private static boolean ifRangeMatches(HttpHeaders headers, MediaFile media) {
+        String ifRange = headers.getFirst(HttpHeaders.IF_RANGE);
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.startsWith("\"")) {
+            return ifRange.equals(media.etag());
+        }
+        try {
+            long date = headers.getFirstDate(HttpHeaders.IF_RANGE);
+            return date == media.lastModified().truncatedTo(ChronoUnit.SECONDS).toEpochMilli();
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.eduplatform.content.controller;
+
+import com.eduplatform.content.dto.UploadRequest;
+import com.eduplatform.content.dto.UploadStatus;
+import com.eduplatform.content.storage.MediaStorage;
+import com.eduplatform.content.storage.UploadConflictException;
+import com.eduplatform.content.storage.UploadQuotaExceededException;
+import com.eduplatform.content.storage.UploadSession;
+import com.eduplatform.content.storage.UploadTooLargeException;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Set;
+
+// Resumable uploads: POST declares the file and returns an upload id, each PATCH appends the next
+// chunk at Upload-Offset, and GET/HEAD report how far the upload got, e.g. after a dropped connection.
+// Chunks are streamed to disk as they arrive, so neither a chunk nor the file is held in memory.
+@RestController
+@RequestMapping("/api/content/uploads")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*", maxAge = 3600, exposedHeaders = {UploadController.UPLOAD_OFFSET, "Location"})
+public class UploadController {
+
+    static final String UPLOAD_OFFSET = "Upload-Offset";
+
+    private static final Set<String> UPLOAD_ROLES = Set.of("INSTRUCTOR", "ADMIN");
+
+    private final MediaStorage mediaStorage;
+
+    // Only instructors and admins publish lesson media; 429 once the user's unfinished uploads reach their quota
+    @PostMapping
+    public Mono<ResponseEntity<UploadStatus>> createUpload(@Valid @RequestBody UploadRequest request,
+                                                           @RequestHeader(value = "X-User-Id", required = false) String userId,
+                                                           @RequestHeader(value = "X-User-Role", required = false) String roles) {
+        if (userId == null || !canUpload(roles)) {
+            return Mono.just(ResponseEntity.status(HttpStatus.FORBIDDEN).build());
+        }
+        if (request.getSize() > mediaStorage.getMaxUploadSize()) {
+            return Mono.just(ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).build());
+        }
+        return mediaStorage.createUpload(request.getFileName(), request.getSize(), userId)
+                .map(session -> ResponseEntity.created(URI.create("/api/content/uploads/" + session.id()))
+                        .header(UPLOAD_OFFSET, "0")
+                        .body(new UploadStatus(session.id(), 0, session.size(), null)))
+                .onErrorResume(UploadQuotaExceededException.class, e ->
+                        Mono.just(ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).<UploadStatus>build()));
+    }
+
+    // GET and HEAD
+    @GetMapping("/{uploadId}")
+    public Mono<ResponseEntity<UploadStatus>> getUpload(@PathVariable String uploadId,
+                                                        @RequestHeader(value = "X-User-Id", required = false) String userId) {
+        return mediaStorage.findUpload(uploadId)
+                .flatMap(session -> {
+                    if (!isOwner(session, userId)) {
+                        return Mono.just(ResponseEntity.status(HttpStatus.FORBIDDEN).<UploadStatus>build());
+                    }
+                    return mediaStorage.uploadedBytes(session)
+                            .map(offset -> ResponseEntity.ok()
+                                    .cacheControl(CacheControl.noStore())
+                                    .header(UPLOAD_OFFSET, Long.toString(offset))
+                                    .body(new UploadStatus(session.id(), offset, session.size(), null)));
+                })
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    // Appends the request body at Upload-Offset. 409 with the current offset if it doesn't match;
+    // the response for the final chunk carries the id the media is served under.
+    @PatchMapping("/{uploadId}")
+    public Mono<ResponseEntity<UploadStatus>> appendChunk(@PathVariable String uploadId,
+                                                          @RequestHeader(UPLOAD_OFFSET) long offset,
+                                                          @RequestHeader(value = "X-User-Id", required = false) String userId,
+                                                          ServerHttpRequest request) {
+        return mediaStorage.findUpload(uploadId)
+                .flatMap(session -> {
+                    if (!isOwner(session, userId)) {
+                        return Mono.just(ResponseEntity.status(HttpStatus.FORBIDDEN).<UploadStatus>build());
+                    }
+                    return mediaStorage.append(session, offset, request.getBody())
+                            .flatMap(newOffset -> newOffset == session.size()
+                                    ? complete(session)
+                                    : Mono.just(status(HttpStatus.OK, session, newOffset)))
+                            .onErrorResume(UploadConflictException.class, e -> mediaStorage.uploadedBytes(session)
+                                    .map(current -> status(HttpStatus.CONFLICT, session, current)))
+                            .onErrorResume(UploadTooLargeException.class, e ->
+                                    Mono.just(ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).<UploadStatus>build()));
+                })
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    private Mono<ResponseEntity<UploadStatus>> complete(UploadSession session) {
+        return mediaStorage.completeUpload(session)
+                .map(media -> ResponseEntity.created(URI.create("/api/content/" + media.id()))
+                        .header(UPLOAD_OFFSET, Long.toString(media.size()))
+                        .body(new UploadStatus(session.id(), media.size(), media.size(), media.id())));
+    }
+
+    private static ResponseEntity<UploadStatus> status(HttpStatus status, UploadSession session, long offset) {
+        return ResponseEntity.status(status)
+                .header(UPLOAD_OFFSET, Long.toString(offset))
+                .body(new UploadStatus(session.id(), offset, session.size(), null));
+    }
+
+    // X-User-Role carries the token's roles comma-separated
+    private static boolean canUpload(String roles) {
+        return roles != null && Arrays.stream(roles.split(","))
+                .map(String::trim)
+                .anyMatch(UPLOAD_ROLES::contains);
+    }
+
+    // Uploads created through the gateway can only be continued by the same user
+    private static boolean isOwner(UploadSession session, String userId) {
+        return session.ownerId() == null || Objects.equals(session.ownerId(), userId);
+    }
+}
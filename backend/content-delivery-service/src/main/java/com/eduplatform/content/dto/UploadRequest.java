@@ -0,0 +1,16 @@
+package com.eduplatform.content.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+@Data
+public class UploadRequest {
+    @NotBlank
+    @Size(max = 255)
+    private String fileName; // its extension determines the served Content-Type
+
+    @Positive
+    private long size; // total bytes the client will send
+}
@@ -0,0 +1,15 @@
+package com.eduplatform.content.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class UploadStatus {
+    private String uploadId;
+    private long offset; // bytes received so far; the next chunk starts here
+    private long size;
+    private String mediaId; // set once the upload is complete
+}
@@ -0,0 +1,10 @@
+package com.eduplatform.content.storage;
+
+import org.springframework.http.MediaType;
+
+import java.nio.file.Path;
+import java.time.Instant;
+
+// A finished, immutable media file; the ETag is a content hash, so it's strong across restarts and replicas
+public record MediaFile(String id, Path path, long size, Instant lastModified, String etag, MediaType mediaType) {
+}
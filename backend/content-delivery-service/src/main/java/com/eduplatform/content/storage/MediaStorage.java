@@ -0,0 +1,317 @@
+package com.eduplatform.content.storage;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Lesson media on local disk. Finished files live in media/ under their id and never change, with
+// their ETags in etags/; uploads are appended chunk by chunk to uploads/<id>.part and moved into
+// media/ once complete.
+// File system calls block, so everything returning a Mono runs them on the bounded elastic scheduler.
+@Slf4j
+@Component
+public class MediaStorage {
+
+    // Ids are single path segments, so a request can never address anything outside the storage root
+    private static final Pattern ID_PATTERN = Pattern.compile("[A-Za-z0-9][A-Za-z0-9_-]{0,63}(\\.[A-Za-z0-9]{1,10})?");
+    private static final Pattern EXTENSION_PATTERN = Pattern.compile("\\.([A-Za-z0-9]{1,10})$");
+
+    private static final String ETAG_SUFFIX = ".etag";
+    private static final String PART_SUFFIX = ".part";
+    private static final String SESSION_SUFFIX = ".json";
+
+    private final Path mediaDir;
+    private final Path etagDir;
+    private final Path uploadDir;
+    private final long maxUploadSize;
+    private final long maxPendingBytesPerUser;
+    private final Duration uploadExpiry;
+    private final ObjectMapper objectMapper;
+
+    // Media files are immutable, so their metadata can be cached without invalidation
+    private final Cache<String, MediaFile> metadata;
+
+    // Uploads currently receiving a chunk; a second concurrent PATCH for the same upload is refused
+    private final Set<String> activeUploads = ConcurrentHashMap.newKeySet();
+
+    public MediaStorage(@Value("${content.storage.root:./data/content}") Path root,
+                        @Value("${content.storage.metadata-cache-size:10000}") long metadataCacheSize,
+                        @Value("${content.uploads.max-size:10GB}") DataSize maxUploadSize,
+                        @Value("${content.uploads.max-pending-per-user:20GB}") DataSize maxPendingBytesPerUser,
+                        @Value("${content.uploads.expiry:24h}") Duration uploadExpiry,
+                        ObjectMapper objectMapper) throws IOException {
+        this.mediaDir = Files.createDirectories(root.resolve("media"));
+        this.etagDir = Files.createDirectories(root.resolve("etags"));
+        this.uploadDir = Files.createDirectories(root.resolve("uploads"));
+        this.maxUploadSize = maxUploadSize.toBytes();
+        this.maxPendingBytesPerUser = maxPendingBytesPerUser.toBytes();
+        this.uploadExpiry = uploadExpiry;
+        this.objectMapper = objectMapper;
+        this.metadata = Caffeine.newBuilder()
+                .maximumSize(metadataCacheSize)
+                .build();
+    }
+
+    public long getMaxUploadSize() {
+        return maxUploadSize;
+    }
+
+    public Mono<MediaFile> findMedia(String mediaId) {
+        // Earlier versions kept ETag sidecars in media/; they are never media themselves
+        if (!ID_PATTERN.matcher(mediaId).matches() || mediaId.endsWith(ETAG_SUFFIX)) {
+            return Mono.empty();
+        }
+        MediaFile cached = metadata.getIfPresent(mediaId);
+        if (cached != null) {
+            return Mono.just(cached);
+        }
+        return Mono.fromCallable(() -> loadMedia(mediaId))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(Mono::justOrEmpty)
+                .doOnNext(media -> metadata.put(mediaId, media));
+    }
+
+    // Declared sizes of a user's unfinished uploads count against their quota until the upload completes
+    // or expires; creation is serialized so concurrent requests can't both pass the check
+    public Mono<UploadSession> createUpload(String fileName, long size, String ownerId) {
+        return Mono.fromCallable(() -> {
+            synchronized (this) {
+                if (ownerId != null && pendingBytes(ownerId) + size > maxPendingBytesPerUser) {
+                    throw new UploadQuotaExceededException("Unfinished uploads exceed " + maxPendingBytesPerUser + " bytes");
+                }
+                return startUpload(fileName, size, ownerId);
+            }
+        }).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private UploadSession startUpload(String fileName, long size, String ownerId) throws IOException {
+        UploadSession session = new UploadSession(UUID.randomUUID().toString(), fileName, size, ownerId, Instant.now());
+        Files.createFile(partFile(session.id()));
+        Files.write(uploadDir.resolve(session.id() + SESSION_SUFFIX), objectMapper.writeValueAsBytes(session));
+        return session;
+    }
+
+    private long pendingBytes(String ownerId) throws IOException {
+        long pending = 0;
+        try (DirectoryStream<Path> sessions = Files.newDirectoryStream(uploadDir, "*" + SESSION_SUFFIX)) {
+            for (Path sessionFile : sessions) {
+                try {
+                    UploadSession session = objectMapper.readValue(sessionFile.toFile(), UploadSession.class);
+                    if (ownerId.equals(session.ownerId())) {
+                        pending += session.size();
+                    }
+                } catch (NoSuchFileException | FileNotFoundException e) {
+                    // completed or expired while listing
+                }
+            }
+        }
+        return pending;
+    }
+
+    public Mono<UploadSession> findUpload(String uploadId) {
+        if (!ID_PATTERN.matcher(uploadId).matches()) {
+            return Mono.empty();
+        }
+        return Mono.fromCallable(() -> {
+            try {
+                return objectMapper.readValue(uploadDir.resolve(uploadId + SESSION_SUFFIX).toFile(), UploadSession.class);
+            } catch (NoSuchFileException | FileNotFoundException e) {
+                return null;
+            }
+        }).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    public Mono<Long> uploadedBytes(UploadSession session) {
+        return Mono.fromCallable(() -> Files.size(partFile(session.id())))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    // Streams the chunk straight into the partial file at offset, buffer by buffer, and returns the new
+    // offset. The offset must equal the bytes received so far, so a client resuming after a dropped
+    // connection first asks for the current offset.
+    public Mono<Long> append(UploadSession session, long offset, Flux<DataBuffer> chunk) {
+        return Mono.defer(() -> {
+            if (!activeUploads.add(session.id())) {
+                return Mono.error(new UploadConflictException("Another chunk is being written to this upload"));
+            }
+            return write(session, offset, chunk)
+                    .doFinally(signal -> activeUploads.remove(session.id()));
+        });
+    }
+
+    private Mono<Long> write(UploadSession session, long offset, Flux<DataBuffer> chunk) {
+        Path part = partFile(session.id());
+        AtomicLong position = new AtomicLong(offset);
+
+        Flux<DataBuffer> bounded = chunk.handle((buffer, sink) -> {
+            if (position.addAndGet(buffer.readableByteCount()) > session.size()) {
+                DataBufferUtils.release(buffer);
+                sink.error(new UploadTooLargeException("Chunk exceeds the declared upload size"));
+            } else {
+                sink.next(buffer);
+            }
+        });
+
+        return Mono.fromCallable(() -> {
+                    long current = Files.size(part);
+                    if (current != offset) {
+                        throw new UploadConflictException("Upload is at offset " + current);
+                    }
+                    return AsynchronousFileChannel.open(part, StandardOpenOption.WRITE);
+                })
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(channel -> DataBufferUtils.write(bounded, channel, offset)
+                        .map(DataBufferUtils::release)
+                        .then(Mono.fromCallable(position::get))
+                        .doFinally(signal -> closeQuietly(channel)));
+    }
+
+    // Hashes the finished upload for its ETag and moves it into media/. Reads the file once, which
+    // for large videos takes a while, but only happens once per file.
+    public Mono<MediaFile> completeUpload(UploadSession session) {
+        return Mono.fromCallable(() -> {
+            String mediaId = session.id() + extensionOf(session.fileName());
+            Path part = partFile(session.id());
+            Path target = mediaDir.resolve(mediaId);
+
+            Files.writeString(etagFile(mediaId), contentHash(part), StandardCharsets.US_ASCII);
+            Files.move(part, target, StandardCopyOption.ATOMIC_MOVE);
+            Files.deleteIfExists(uploadDir.resolve(session.id() + SESSION_SUFFIX));
+
+            MediaFile media = loadMedia(mediaId).orElseThrow();
+            metadata.put(mediaId, media);
+            log.debug("Stored media {} ({} bytes)", mediaId, media.size());
+            return media;
+        }).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    // Expiry counts from the last chunk written, not from creation, so a long upload that keeps
+    // making progress is never deleted underneath the client
+    @Scheduled(fixedDelayString = "${content.uploads.cleanup-interval:3600000}")
+    public void deleteExpiredUploads() {
+        Instant cutoff = Instant.now().minus(uploadExpiry);
+        try (DirectoryStream<Path> sessions = Files.newDirectoryStream(uploadDir, "*" + SESSION_SUFFIX)) {
+            for (Path sessionFile : sessions) {
+                String uploadId = sessionFile.getFileName().toString().replace(SESSION_SUFFIX, "");
+                if (lastActivity(uploadId, sessionFile).isBefore(cutoff) && !activeUploads.contains(uploadId)) {
+                    Files.deleteIfExists(partFile(uploadId));
+                    Files.deleteIfExists(sessionFile);
+                    log.debug("Deleted expired upload {}", uploadId);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Failed to clean up expired uploads: {}", e.getMessage());
+        }
+    }
+
+    private Instant lastActivity(String uploadId, Path sessionFile) throws IOException {
+        try {
+            return Files.getLastModifiedTime(partFile(uploadId)).toInstant();
+        } catch (NoSuchFileException e) {
+            return Files.getLastModifiedTime(sessionFile).toInstant();
+        }
+    }
+
+    private Optional<MediaFile> loadMedia(String mediaId) throws IOException {
+        Path path = mediaDir.resolve(mediaId);
+        BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        }
+        if (!attributes.isRegularFile()) {
+            return Optional.empty();
+        }
+
+        // Files copied into media/ by hand have no hash yet; compute it once
+        Path etagFile = etagFile(mediaId);
+        String etag;
+        if (Files.exists(etagFile)) {
+            etag = Files.readString(etagFile, StandardCharsets.US_ASCII).trim();
+        } else {
+            etag = contentHash(path);
+            Files.writeString(etagFile, etag, StandardCharsets.US_ASCII);
+        }
+
+        MediaType mediaType = MediaTypeFactory.getMediaType(mediaId).orElse(MediaType.APPLICATION_OCTET_STREAM);
+        return Optional.of(new MediaFile(mediaId, path, attributes.size(),
+                attributes.lastModifiedTime().toInstant(), etag, mediaType));
+    }
+
+    private static String contentHash(Path file) throws IOException {
+        MessageDigest sha256;
+        try {
+            sha256 = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+        byte[] buffer = new byte[64 * 1024];
+        try (InputStream in = Files.newInputStream(file)) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                sha256.update(buffer, 0, read);
+            }
+        }
+        return "\"" + HexFormat.of().formatHex(sha256.digest(), 0, 16) + "\"";
+    }
+
+    private static String extensionOf(String fileName) {
+        Matcher matcher = EXTENSION_PATTERN.matcher(fileName);
+        return matcher.find() ? "." + matcher.group(1).toLowerCase(Locale.ROOT) : "";
+    }
+
+    private Path etagFile(String mediaId) {
+        return etagDir.resolve(mediaId + ETAG_SUFFIX);
+    }
+
+    private Path partFile(String uploadId) {
+        return uploadDir.resolve(uploadId + PART_SUFFIX);
+    }
+
+    private static void closeQuietly(AsynchronousFileChannel channel) {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            log.debug("Failed to close upload channel: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.eduplatform.content.storage;
+
+// The chunk's offset doesn't match the upload, or another chunk is being written concurrently
+public class UploadConflictException extends RuntimeException {
+    public UploadConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package com.eduplatform.content.storage;
+
+// The user's unfinished uploads would together exceed their pending upload quota
+public class UploadQuotaExceededException extends RuntimeException {
+    public UploadQuotaExceededException(String message) {
+        super(message);
+    }
+}
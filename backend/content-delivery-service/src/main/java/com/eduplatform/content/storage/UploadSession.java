@@ -0,0 +1,8 @@
+package com.eduplatform.content.storage;
+
+import java.time.Instant;
+
+// Metadata of an upload in progress, kept next to its partial file as <id>.json;
+// the number of bytes received so far is the partial file's size
+public record UploadSession(String id, String fileName, long size, String ownerId, Instant createdAt) {
+}
@@ -0,0 +1,7 @@
+package com.eduplatform.content.storage;
+
+public class UploadTooLargeException extends RuntimeException {
+    public UploadTooLargeException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,67 @@
+package com.eduplatform.course.cache;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CourseCacheInvalidator {
+
+    public static final String COURSES_CACHE = "courses";
+    public static final String INSTRUCTOR_COURSES_CACHE = "instructorCourses";
+    public static final String INVALIDATION_TOPIC = "course-cache-invalidation";
+
+    private final CacheManager cacheManager;
+    private final KafkaTemplate<String, String> kafkaTemplate;
+
+    // Evicting after commit means a concurrent read can't repopulate the cache with the pre-update row
+    @TransactionalEventListener
+    public void onCourseChanged(CourseChangedEvent event) {
+        evict(event.courseId(), event.instructorId());
+
+        // Other replicas evict their own copies when they receive this
+        kafkaTemplate.send(INVALIDATION_TOPIC, String.valueOf(event.courseId()), String.valueOf(event.instructorId()))
+                .whenComplete((result, e) -> {
+                    if (e != null) {
+                        log.warn("Failed to broadcast cache invalidation for course {}: {}", event.courseId(), e.getMessage());
+                    }
+                });
+    }
+
+    // Every replica consumes the topic in its own group, so each one sees every invalidation. The group
+    // is named after the instance, as InstructorDirectory's is, so a restart rejoins it instead of
+    // leaving an orphaned group on the broker; a new group starts at the latest offset, since the
+    // cache it guards starts empty.
+    @KafkaListener(topics = INVALIDATION_TOPIC, groupId = "course-cache-${instructors.instance-id}")
+    public void onInvalidation(ConsumerRecord<String, String> record) {
+        evict(parseId(record.key()), parseId(record.value()));
+    }
+
+    private void evict(Long courseId, Long instructorId) {
+        if (courseId != null) {
+            evict(COURSES_CACHE, courseId);
+        }
+        if (instructorId != null) {
+            evict(INSTRUCTOR_COURSES_CACHE, instructorId);
+        }
+    }
+
+    private void evict(String cacheName, Long key) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.evict(key);
+        }
+    }
+
+    private static Long parseId(String value) {
+        return value == null || "null".equals(value) ? null : Long.valueOf(value);
+    }
+}
@@ -0,0 +1,5 @@
+package com.eduplatform.course.cache;
+
+// Published by CourseService on every write; caches are evicted once the transaction commits
+public record CourseChangedEvent(Long courseId, Long instructorId) {
+}
@@ -0,0 +1,174 @@
+package com.eduplatform.course.client;
+
+import com.eduplatform.course.dto.InstructorSummary;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.loadbalancer.LoadBalanced;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Looks up user profiles through the user service's batch endpoint. Lookups arriving within one
+// batch window, from any number of request threads, share a single POST /api/users/batch call.
+// Calls go to a load-balanced instance from a small bounded pool; when it and its queue are full
+// the batch fails fast. Failures degrade to "unknown" (absent) users rather than failing the caller's request.
+@Slf4j
+@Component
+public class UserBatchClient {
+
+    private static final int MAX_BATCH_SIZE = 1000; // the endpoint's limit
+
+    private final RestClient restClient;
+    private final Duration batchWindow;
+    private final Duration lookupTimeout;
+    // Only collects batches; the blocking calls run on fetchExecutor
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "user-batch-client");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final ThreadPoolExecutor fetchExecutor;
+
+    private final Object lock = new Object();
+    private Map<Long, CompletableFuture<InstructorSummary>> pending = new HashMap<>();
+    private boolean flushScheduled;
+
+    public UserBatchClient(@LoadBalanced RestClient.Builder restClientBuilder,
+                           @Value("${services.user-management.url:http://user-management-service}") String baseUrl,
+                           @Value("${services.user-management.batch-window:5ms}") Duration batchWindow,
+                           @Value("${services.user-management.timeout:500ms}") Duration lookupTimeout,
+                           @Value("${services.user-management.max-concurrent-batches:4}") int maxConcurrentBatches,
+                           @Value("${services.user-management.max-queued-batches:16}") int maxQueuedBatches) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(lookupTimeout);
+        requestFactory.setReadTimeout(lookupTimeout);
+
+        this.restClient = restClientBuilder
+                .baseUrl(baseUrl)
+                .requestFactory(requestFactory)
+                .build();
+        this.batchWindow = batchWindow;
+        this.lookupTimeout = lookupTimeout;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.fetchExecutor = new ThreadPoolExecutor(maxConcurrentBatches, maxConcurrentBatches,
+                30, TimeUnit.SECONDS, new ArrayBlockingQueue<>(maxQueuedBatches), runnable -> {
+                    Thread thread = new Thread(runnable, "user-batch-fetch-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+        this.fetchExecutor.allowCoreThreadTimeOut(true);
+    }
+
+    // Completes with null if the user doesn't exist or the lookup failed
+    public CompletableFuture<InstructorSummary> getUser(Long id) {
+        CompletableFuture<InstructorSummary> future;
+        Map<Long, CompletableFuture<InstructorSummary>> full = null;
+        synchronized (lock) {
+            future = pending.computeIfAbsent(id, key -> new CompletableFuture<>());
+            if (pending.size() >= MAX_BATCH_SIZE) {
+                // Taken here rather than by an asynchronous flush, so no batch ever exceeds the endpoint's
+                // limit; lookups after this one start the next batch, which the scheduled flush picks up
+                full = pending;
+                pending = new HashMap<>();
+            } else if (!flushScheduled) {
+                flushScheduled = true;
+                scheduler.schedule(this::flush, batchWindow.toNanos(), TimeUnit.NANOSECONDS);
+            }
+        }
+        if (full != null) {
+            dispatch(full);
+        }
+        return future;
+    }
+
+    // Blocks for at most the lookup timeout; users that couldn't be resolved are missing from the map
+    public Map<Long, InstructorSummary> getUsers(Collection<Long> ids) {
+        Map<Long, CompletableFuture<InstructorSummary>> futures = new HashMap<>();
+        for (Long id : new LinkedHashSet<>(ids)) {
+            futures.put(id, getUser(id));
+        }
+
+        try {
+            CompletableFuture.allOf(futures.values().toArray(CompletableFuture[]::new))
+                    .get(lookupTimeout.toMillis() * 2, TimeUnit.MILLISECONDS);
+        } catch (Exception e) {
+            log.warn("User lookup for {} ids incomplete: {}", futures.size(), e.toString());
+        }
+
+        Map<Long, InstructorSummary> users = new HashMap<>();
+        futures.forEach((id, future) -> {
+            InstructorSummary user = future.getNow(null);
+            if (user != null) {
+                users.put(id, user);
+            }
+        });
+        return users;
+    }
+
+    private void flush() {
+        Map<Long, CompletableFuture<InstructorSummary>> batch;
+        synchronized (lock) {
+            batch = pending;
+            pending = new HashMap<>();
+            flushScheduled = false;
+        }
+        if (!batch.isEmpty()) {
+            dispatch(batch);
+        }
+    }
+
+    private void dispatch(Map<Long, CompletableFuture<InstructorSummary>> batch) {
+        try {
+            fetchExecutor.execute(() -> {
+                Map<Long, InstructorSummary> users = fetch(batch.keySet());
+                batch.forEach((id, future) -> future.complete(users.get(id)));
+            });
+        } catch (RejectedExecutionException e) {
+            log.warn("User batch lookup of {} ids rejected, {} batches already queued", batch.size(), fetchExecutor.getQueue().size());
+            batch.values().forEach(future -> future.complete(null));
+        }
+    }
+
+    private Map<Long, InstructorSummary> fetch(Set<Long> ids) {
+        Map<Long, InstructorSummary> users = new HashMap<>();
+        try {
+            List<InstructorSummary> response = restClient.post()
+                    .uri("/api/users/batch")
+                    .body(Map.of("ids", new ArrayList<>(ids)))
+                    .retrieve()
+                    .body(new ParameterizedTypeReference<List<InstructorSummary>>() {});
+            if (response != null) {
+                response.forEach(user -> users.put(user.getId(), user));
+            }
+        } catch (Exception e) {
+            log.warn("User batch lookup of {} ids failed: {}", ids.size(), e.getMessage());
+        }
+        return users;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        scheduler.shutdownNow();
+        fetchExecutor.shutdownNow();
+    }
+}
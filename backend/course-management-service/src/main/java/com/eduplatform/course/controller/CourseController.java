@@ -1,12 +1,29 @@
 package com.eduplatform.course.controller;
 
+import com.eduplatform.course.dto.CourseDetail;
+import com.eduplatform.course.dto.CoursePage;
+import com.eduplatform.course.dto.CourseSearchPage;
+import com.eduplatform.course.dto.CourseSummary;
+import com.eduplatform.course.dto.ImportReport;
+import com.eduplatform.course.dto.InstructorSummary;
 import com.eduplatform.course.entity.Course;
+import com.eduplatform.course.instructor.InstructorDirectory;
+import com.eduplatform.course.service.CourseBulkService;
 import com.eduplatform.course.service.CourseService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/courses")
@@ -14,28 +31,59 @@ import java.util.List;
 @CrossOrigin(origins = "*", maxAge = 3600)
 public class CourseController {
 
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private static final String TEXT_CSV = "text/csv";
+
     private final CourseService courseService;
+    private final CourseBulkService courseBulkService;
+    private final InstructorDirectory instructorDirectory;
 
     @GetMapping
-    public ResponseEntity<List<Course>> getAllCourses() {
-        return ResponseEntity.ok(courseService.getAllPublishedCourses());
+    public ResponseEntity<CoursePage> getAllCourses(@RequestParam(required = false) String cursor,
+                                                    @RequestParam(defaultValue = "20") int size,
+                                                    @RequestParam(required = false) String category,
+                                                    @RequestParam(required = false) Course.Level level,
+                                                    @RequestParam(required = false) Long instructorId) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            CoursePage page = courseService.getPublishedCourses(category, level, instructorId, cursor, size);
+            page.setInstructors(instructorsOf(page.getItems()));
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<CourseSearchPage> searchCourses(@RequestParam("q") String query,
+                                                         @RequestParam(defaultValue = "0") int page,
+                                                         @RequestParam(defaultValue = "20") int size) {
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+        CourseSearchPage results = courseService.searchPublishedCourses(query, page, size);
+        results.setInstructors(instructorsOf(results.getItems()));
+        return ResponseEntity.ok(results);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Course> getCourseById(@PathVariable Long id) {
+    public ResponseEntity<CourseDetail> getCourseById(@PathVariable Long id) {
         return courseService.getCourseById(id)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
 
     @PostMapping
-    public ResponseEntity<Course> createCourse(@RequestBody Course course) {
-        Course createdCourse = courseService.createCourse(course);
+    public ResponseEntity<CourseDetail> createCourse(@RequestBody Course course) {
+        CourseDetail createdCourse = courseService.createCourse(course);
         return ResponseEntity.ok(createdCourse);
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<Course> updateCourse(@PathVariable Long id, @RequestBody Course course) {
+    public ResponseEntity<CourseDetail> updateCourse(@PathVariable Long id, @RequestBody Course course) {
         return courseService.updateCourse(id, course)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
@@ -46,4 +94,39 @@ public class CourseController {
         courseService.deleteCourse(id);
         return ResponseEntity.ok().build();
     }
+
+    // Streams an NDJSON or CSV (with header) upload of any size; rows that fail are reported, not fatal
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_NDJSON_VALUE, TEXT_CSV})
+    public ResponseEntity<ImportReport> importCourses(@RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                                                      InputStream body) throws IOException {
+        CourseBulkService.Format format = contentType.isCompatibleWith(MediaType.APPLICATION_NDJSON)
+                ? CourseBulkService.Format.NDJSON
+                : CourseBulkService.Format.CSV;
+        return ResponseEntity.ok(courseBulkService.importCourses(body, format));
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportCourses(@RequestParam(defaultValue = "ndjson") String format) {
+        CourseBulkService.Format exportFormat;
+        try {
+            exportFormat = CourseBulkService.Format.valueOf(format.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        String extension = exportFormat == CourseBulkService.Format.CSV ? "csv" : "ndjson";
+        return ResponseEntity.ok()
+                .contentType(exportFormat == CourseBulkService.Format.CSV ? MediaType.parseMediaType(TEXT_CSV) : MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename("courses." + extension).build().toString())
+                .body(output -> courseBulkService.exportCourses(output, exportFormat));
+    }
+
+    // Served from the local read model; only unknown instructors cost a (batched) user-service call,
+    // made outside the service's transaction so no DB connection is held while waiting on it
+    private Map<Long, InstructorSummary> instructorsOf(List<CourseSummary> courses) {
+        return instructorDirectory.getInstructors(courses.stream()
+                .map(CourseSummary::getInstructorId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet()));
+    }
 }
\ No newline at end of file
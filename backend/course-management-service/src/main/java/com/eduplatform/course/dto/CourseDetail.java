@@ -0,0 +1,36 @@
+package com.eduplatform.course.dto;
+
+import com.eduplatform.course.entity.Course;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// Single-course view, selected as a JPQL projection for reads; this is also what the courses cache holds
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CourseDetail {
+    private Long id;
+    private String title;
+    private String description;
+    private Long instructorId;
+    private BigDecimal price;
+    private String category;
+    private String thumbnail;
+    private Integer duration;
+    private Course.Level level;
+    private Boolean isPublished;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    public static CourseDetail from(Course course) {
+        return new CourseDetail(course.getId(), course.getTitle(), course.getDescription(), course.getInstructorId(),
+                course.getPrice(), course.getCategory(), course.getThumbnail(), course.getDuration(), course.getLevel(),
+                course.getIsPublished(), course.getCreatedAt(), course.getUpdatedAt());
+    }
+}
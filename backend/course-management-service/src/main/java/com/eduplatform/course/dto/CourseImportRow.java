@@ -0,0 +1,41 @@
+package com.eduplatform.course.dto;
+
+import com.eduplatform.course.entity.Course;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+// One course in a bulk import (an NDJSON line or a CSV record); same constraints as Course
+@Data
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class CourseImportRow {
+    @NotBlank
+    private String title;
+
+    @Size(max = 2000)
+    private String description;
+
+    @NotNull
+    private Long instructorId;
+
+    @NotNull
+    @PositiveOrZero
+    private BigDecimal price;
+
+    @NotBlank
+    private String category;
+
+    private String thumbnail;
+
+    @PositiveOrZero
+    private Integer duration;
+
+    private Course.Level level;
+
+    private Boolean isPublished = false;
+}
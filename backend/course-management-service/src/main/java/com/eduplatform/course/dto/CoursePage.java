@@ -0,0 +1,15 @@
+package com.eduplatform.course.dto;
+
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@RequiredArgsConstructor
+public class CoursePage {
+    private final List<CourseSummary> items;
+    private final String nextCursor; // null on the last page
+    private Map<Long, InstructorSummary> instructors = Map.of(); // by instructorId, for the items above
+}
@@ -0,0 +1,16 @@
+package com.eduplatform.course.dto;
+
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@RequiredArgsConstructor
+public class CourseSearchPage {
+    private final List<CourseSummary> items; // best match first
+    private final int page;
+    private final boolean hasMore;
+    private Map<Long, InstructorSummary> instructors = Map.of(); // by instructorId, for the items above
+}
@@ -0,0 +1,27 @@
+package com.eduplatform.course.dto;
+
+import com.eduplatform.course.entity.Course;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// Course list element, selected directly as a JPQL projection (no description, no managed entity)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL) // a 100-item page carries no "thumbnail":null noise
+public class CourseSummary {
+    private Long id;
+    private String title;
+    private String category;
+    private Course.Level level;
+    private BigDecimal price;
+    private String thumbnail;
+    private Integer duration;
+    private Long instructorId;
+    private LocalDateTime createdAt;
+}
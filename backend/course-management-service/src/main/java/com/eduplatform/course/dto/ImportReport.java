@@ -0,0 +1,31 @@
+package com.eduplatform.course.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class ImportReport {
+    private long imported;
+    private long failed;
+    private List<RowError> errors = new ArrayList<>(); // first max-reported-errors failures only
+    private boolean errorsTruncated;
+
+    public void addError(long line, String message, int maxReported) {
+        failed++;
+        if (errors.size() < maxReported) {
+            errors.add(new RowError(line, message));
+        } else {
+            errorsTruncated = true;
+        }
+    }
+
+    @Data
+    @AllArgsConstructor
+    public static class RowError {
+        private long line; // 1-based line in the uploaded file
+        private String message;
+    }
+}
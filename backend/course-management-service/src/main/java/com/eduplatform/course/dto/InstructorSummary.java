@@ -0,0 +1,17 @@
+package com.eduplatform.course.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Instructor profile as returned by the user service's batch lookup
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class InstructorSummary {
+    private Long id;
+    private String username;
+    private String firstName;
+    private String lastName;
+    private String profilePicture;
+}
@@ -15,15 +15,23 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "courses")
+@Table(name = "courses", indexes = {
+        // Serves the keyset-paginated catalogue listing ordered by (createdAt, id)
+        @Index(name = "idx_courses_published_created_id", columnList = "is_published, created_at, id")
+})
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class Course {
 
+    // Ids come from courses_seq in blocks of this size (pooled-lo); CourseBulkService reserves
+    // blocks the same way
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "courses_seq")
+    @SequenceGenerator(name = "courses_seq", sequenceName = "courses_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     @NotBlank
@@ -0,0 +1,35 @@
+package com.eduplatform.course.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Snapshot of the instructor read model (see InstructorDirectory); written with batched upserts,
+// mapped here so the table is managed with the rest of the schema
+@Entity
+@Table(name = "instructor_profiles")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class InstructorProfile {
+
+    // The user id from user-management-service
+    @Id
+    private Long id;
+
+    private String username;
+
+    private String firstName;
+
+    private String lastName;
+
+    private String profilePicture;
+
+    // Offset in user-events of the event this profile came from; null if fetched from the user service
+    private Long eventOffset;
+
+    private LocalDateTime updatedAt;
+}
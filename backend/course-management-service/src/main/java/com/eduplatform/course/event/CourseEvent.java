@@ -0,0 +1,21 @@
+package com.eduplatform.course.event;
+
+import com.eduplatform.course.entity.Course;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+// Payload of the course-events topic (keyed by courseId)
+public record CourseEvent(String type, Long courseId, Long instructorId, String title, String category,
+                          Course.Level level, BigDecimal price, Boolean isPublished, Instant occurredAt) {
+
+    public static final String TOPIC = "course-events";
+    public static final String COURSE_CREATED = "CourseCreated";
+    public static final String COURSE_UPDATED = "CourseUpdated";
+    public static final String COURSE_DELETED = "CourseDeleted";
+
+    public static CourseEvent of(String type, Course course) {
+        return new CourseEvent(type, course.getId(), course.getInstructorId(), course.getTitle(), course.getCategory(),
+                course.getLevel(), course.getPrice(), course.getIsPublished(), Instant.now());
+    }
+}
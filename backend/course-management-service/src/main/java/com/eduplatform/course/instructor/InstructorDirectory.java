@@ -0,0 +1,218 @@
+package com.eduplatform.course.instructor;
+
+import com.eduplatform.course.client.UserBatchClient;
+import com.eduplatform.course.dto.InstructorSummary;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.ConsumerSeekAware;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Local read model of instructor profiles, so course listings embed instructor details without
+// calling the user service. Fed by the user-events topic, snapshotted to instructor_profiles so a
+// restart starts warm, with the user service's batch endpoint as the fallback for unknown ids.
+// Each snapshot also stores how far the topic had been consumed, and a restart resumes from there.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class InstructorDirectory implements ConsumerSeekAware {
+
+    private static final String USER_EVENTS_TOPIC = "user-events";
+
+    // Replicas share the snapshot, so a profile is only replaced by one from the same or a later event
+    // (user events are keyed by user id, so one user's events share a partition); profiles fetched
+    // from the user service carry no offset and only replace each other
+    private static final String UPSERT_SQL =
+            "INSERT INTO instructor_profiles (id, username, first_name, last_name, profile_picture, event_offset, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?) " +
+            "ON CONFLICT (id) DO UPDATE SET username = EXCLUDED.username, first_name = EXCLUDED.first_name, " +
+            "last_name = EXCLUDED.last_name, profile_picture = EXCLUDED.profile_picture, " +
+            "event_offset = EXCLUDED.event_offset, updated_at = EXCLUDED.updated_at " +
+            "WHERE COALESCE(EXCLUDED.event_offset, -1) >= COALESCE(instructor_profiles.event_offset, -1)";
+
+    // Every profile changed by an event before a replica's recorded offset is in the snapshot,
+    // so the furthest offset any replica recorded is a safe place to resume from
+    private static final String UPSERT_OFFSET_SQL =
+            "INSERT INTO instructor_snapshot_offsets (topic, partition_id, next_offset) VALUES (?, ?, ?) " +
+            "ON CONFLICT (topic, partition_id) DO UPDATE " +
+            "SET next_offset = GREATEST(instructor_snapshot_offsets.next_offset, EXCLUDED.next_offset)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final UserBatchClient userBatchClient;
+
+    private final Map<Long, InstructorSummary> instructors = new ConcurrentHashMap<>();
+    // Offset of the user event each profile came from; absent for profiles fetched from the user service
+    private final Map<Long, Long> eventOffsets = new ConcurrentHashMap<>();
+    // Ids changed since the last snapshot
+    private final Set<Long> dirty = ConcurrentHashMap.newKeySet();
+    // Next offset to consume per partition: from the snapshot at startup, then as events are applied
+    private final Map<Integer, Long> consumedOffsets = new ConcurrentHashMap<>();
+    private volatile Map<Integer, Long> snapshotOffsets = Map.of();
+
+    // Runs before listener containers start, so events consumed afterwards win over the snapshot
+    @PostConstruct
+    void loadSnapshot() {
+        try {
+            jdbcTemplate.query("SELECT id, username, first_name, last_name, profile_picture, event_offset FROM instructor_profiles",
+                    rs -> {
+                        long id = rs.getLong("id");
+                        instructors.putIfAbsent(id, new InstructorSummary(id, rs.getString("username"),
+                                rs.getString("first_name"), rs.getString("last_name"), rs.getString("profile_picture")));
+                        long eventOffset = rs.getLong("event_offset");
+                        if (!rs.wasNull()) {
+                            eventOffsets.putIfAbsent(id, eventOffset);
+                        }
+                    });
+            jdbcTemplate.query("SELECT partition_id, next_offset FROM instructor_snapshot_offsets WHERE topic = ?",
+                    rs -> {
+                        consumedOffsets.put(rs.getInt("partition_id"), rs.getLong("next_offset"));
+                    }, USER_EVENTS_TOPIC);
+            snapshotOffsets = Map.copyOf(consumedOffsets);
+            log.info("Loaded {} instructor profiles from snapshot, resuming {} at {}", instructors.size(),
+                    USER_EVENTS_TOPIC, consumedOffsets);
+        } catch (RuntimeException e) {
+            // The table doesn't exist yet on a first start; the topic replay and the fallback fill the map
+            log.warn("Instructor snapshot not loaded: {}", e.getMessage());
+        }
+    }
+
+    // Local hits first; the misses go to the user service in one batch and are remembered
+    public Map<Long, InstructorSummary> getInstructors(Collection<Long> ids) {
+        Map<Long, InstructorSummary> found = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (Long id : ids) {
+            InstructorSummary instructor = instructors.get(id);
+            if (instructor != null) {
+                found.put(id, instructor);
+            } else {
+                missing.add(id);
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            userBatchClient.getUsers(missing).forEach((id, instructor) -> {
+                update(instructor, null);
+                found.put(id, instructor);
+            });
+        }
+        return found;
+    }
+
+    // Each replica reads the whole topic in its own group, named after the instance so a restart
+    // rejoins it rather than leaving an orphan behind. Where it starts is decided by onPartitionsAssigned.
+    @KafkaListener(topics = USER_EVENTS_TOPIC, groupId = "course-instructors-${instructors.instance-id}",
+            properties = "auto.offset.reset=earliest")
+    public void onUserEvent(ConsumerRecord<String, String> record) {
+        try {
+            UserEventMessage event = objectMapper.readValue(record.value(), UserEventMessage.class);
+            if (event.userId() != null && event.roles() != null && event.roles().contains("INSTRUCTOR")) {
+                update(new InstructorSummary(event.userId(), event.username(), event.firstName(), event.lastName(),
+                        event.profilePicture()), record.offset());
+            }
+        } catch (Exception e) {
+            log.warn("Skipping unreadable user event at offset {}: {}", record.offset(), e.getMessage());
+        }
+        // Recorded after the update, so a snapshot that reads this offset also sees the profile change
+        consumedOffsets.put(record.partition(), record.offset() + 1);
+    }
+
+    // Resumes from what this replica has applied, else from the snapshot's offsets; partitions the
+    // snapshot doesn't cover are replayed from the beginning, which is idempotent
+    @Override
+    public void onPartitionsAssigned(Map<TopicPartition, Long> assignments, ConsumerSeekCallback callback) {
+        assignments.keySet().forEach(partition -> {
+            Long next = consumedOffsets.get(partition.partition());
+            if (next != null) {
+                callback.seek(partition.topic(), partition.partition(), next);
+            } else {
+                callback.seekToBeginning(partition.topic(), partition.partition());
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${instructors.snapshot-interval:30000}")
+    public void snapshot() {
+        // Read before the profiles, so everything consumed up to these offsets is part of this snapshot
+        Map<Integer, Long> offsets = Map.copyOf(consumedOffsets);
+        if (dirty.isEmpty() && offsets.equals(snapshotOffsets)) {
+            return;
+        }
+
+        List<InstructorSummary> changed = new ArrayList<>();
+        for (Long id : List.copyOf(dirty)) {
+            // Removed before reading, so a concurrent update marks it dirty again for the next snapshot
+            dirty.remove(id);
+            InstructorSummary instructor = instructors.get(id);
+            if (instructor != null) {
+                changed.add(instructor);
+            }
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.batchUpdate(UPSERT_SQL, changed, 500, (ps, instructor) -> {
+                    ps.setLong(1, instructor.getId());
+                    ps.setString(2, instructor.getUsername());
+                    ps.setString(3, instructor.getFirstName());
+                    ps.setString(4, instructor.getLastName());
+                    ps.setString(5, instructor.getProfilePicture());
+                    ps.setObject(6, eventOffsets.get(instructor.getId()), Types.BIGINT);
+                    ps.setTimestamp(7, now);
+                });
+                jdbcTemplate.batchUpdate(UPSERT_OFFSET_SQL, List.copyOf(offsets.entrySet()), 500, (ps, offset) -> {
+                    ps.setString(1, USER_EVENTS_TOPIC);
+                    ps.setInt(2, offset.getKey());
+                    ps.setLong(3, offset.getValue());
+                });
+            });
+            snapshotOffsets = offsets;
+            log.debug("Snapshotted {} instructor profiles at {}", changed.size(), offsets);
+        } catch (RuntimeException e) {
+            changed.forEach(instructor -> dirty.add(instructor.getId()));
+            log.warn("Instructor snapshot failed, retrying next run: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        snapshot();
+    }
+
+    private void update(InstructorSummary instructor, Long eventOffset) {
+        instructors.put(instructor.getId(), instructor);
+        if (eventOffset != null) {
+            eventOffsets.put(instructor.getId(), eventOffset);
+        } else {
+            eventOffsets.remove(instructor.getId());
+        }
+        dirty.add(instructor.getId());
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record UserEventMessage(String type, Long userId, String username, String firstName, String lastName,
+                            String profilePicture, Set<String> roles) {
+    }
+}
@@ -0,0 +1,37 @@
+package com.eduplatform.course.outbox;
+
+import com.eduplatform.course.entity.OutboxEvent;
+import com.eduplatform.course.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+// Copy of the user service's OutboxWriter (see OutboxRelay)
+@Component
+@RequiredArgsConstructor
+public class OutboxWriter {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    // Must join the caller's transaction: the event is only published if the change commits
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(String topic, Object aggregateId, String eventType, Object payload) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize " + eventType + " event", e);
+        }
+
+        outboxEventRepository.save(OutboxEvent.builder()
+                .topic(topic)
+                .aggregateId(String.valueOf(aggregateId))
+                .eventType(eventType)
+                .payload(json)
+                .build());
+    }
+}
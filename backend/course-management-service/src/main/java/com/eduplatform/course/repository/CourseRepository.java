@@ -1,17 +1,19 @@
 package com.eduplatform.course.repository;
 
+import com.eduplatform.course.dto.CourseDetail;
+import com.eduplatform.course.dto.CourseSummary;
 import com.eduplatform.course.entity.Course;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface CourseRepository extends JpaRepository<Course, Long> {
-
-    List<Course> findByIsPublishedTrue();
+public interface CourseRepository extends JpaRepository<Course, Long>, CourseRepositoryCustom {
 
     List<Course> findByInstructorId(Long instructorId);
 
@@ -19,7 +21,24 @@ public interface CourseRepository extends JpaRepository<Course, Long> {
 
     List<Course> findByLevel(Course.Level level);
 
-    @Query("SELECT c FROM Course c WHERE c.isPublished = true AND " +
-            "LOWER(c.title) LIKE LOWER(CONCAT('%', :keyword, '%'))")
-    List<Course> findPublishedByTitleContaining(@Param("keyword") String keyword);
+    // Ranked full-text match over the GIN-indexed search_vector column (see db/course-search.sql)
+    @Query(value = "SELECT c.id FROM courses c, to_tsquery('english', :query) q " +
+            "WHERE c.is_published = true AND c.search_vector @@ q " +
+            "ORDER BY ts_rank(c.search_vector, q) DESC, c.id " +
+            "LIMIT :limit OFFSET :offset", nativeQuery = true)
+    List<Long> searchPublishedIds(@Param("query") String query, @Param("limit") int limit, @Param("offset") long offset);
+
+    @Query("SELECT new com.eduplatform.course.dto.CourseSummary(c.id, c.title, c.category, c.level, c.price, " +
+            "c.thumbnail, c.duration, c.instructorId, c.createdAt) FROM Course c WHERE c.id IN :ids")
+    List<CourseSummary> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT new com.eduplatform.course.dto.CourseSummary(c.id, c.title, c.category, c.level, c.price, " +
+            "c.thumbnail, c.duration, c.instructorId, c.createdAt) FROM Course c " +
+            "WHERE c.instructorId = :instructorId ORDER BY c.createdAt DESC, c.id DESC")
+    List<CourseSummary> findSummariesByInstructorId(@Param("instructorId") Long instructorId);
+
+    @Query("SELECT new com.eduplatform.course.dto.CourseDetail(c.id, c.title, c.description, c.instructorId, c.price, " +
+            "c.category, c.thumbnail, c.duration, c.level, c.isPublished, c.createdAt, c.updatedAt) " +
+            "FROM Course c WHERE c.id = :id")
+    Optional<CourseDetail> findDetailById(@Param("id") Long id);
 }
\ No newline at end of file
@@ -0,0 +1,14 @@
+package com.eduplatform.course.repository;
+
+import com.eduplatform.course.dto.CourseCursor;
+import com.eduplatform.course.dto.CourseSummary;
+import com.eduplatform.course.entity.Course;
+
+import java.util.List;
+
+public interface CourseRepositoryCustom {
+
+    // Published courses ordered by (createdAt, id), starting after the cursor; null filters are ignored
+    List<CourseSummary> findPublishedSummaries(String category, Course.Level level, Long instructorId,
+                                               CourseCursor after, int limit);
+}
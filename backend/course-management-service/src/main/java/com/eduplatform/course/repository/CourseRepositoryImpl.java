@@ -0,0 +1,70 @@
+package com.eduplatform.course.repository;
+
+import com.eduplatform.course.dto.CourseCursor;
+import com.eduplatform.course.dto.CourseSummary;
+import com.eduplatform.course.entity.Course;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public class CourseRepositoryImpl implements CourseRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<CourseSummary> findPublishedSummaries(String category, Course.Level level, Long instructorId,
+                                                      CourseCursor after, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<CourseSummary> query = cb.createQuery(CourseSummary.class);
+        Root<Course> course = query.from(Course.class);
+        Path<LocalDateTime> createdAt = course.get("createdAt");
+        Path<Long> id = course.get("id");
+
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(cb.isTrue(course.get("isPublished")));
+
+        if (category != null) {
+            predicates.add(cb.equal(course.get("category"), category));
+        }
+        if (level != null) {
+            predicates.add(cb.equal(course.get("level"), level));
+        }
+        if (instructorId != null) {
+            predicates.add(cb.equal(course.get("instructorId"), instructorId));
+        }
+        if (after != null) {
+            // (createdAt, id) > (cursor.createdAt, cursor.id); the redundant >= bounds the index range scan
+            predicates.add(cb.greaterThanOrEqualTo(createdAt, after.createdAt()));
+            predicates.add(cb.or(
+                    cb.greaterThan(createdAt, after.createdAt()),
+                    cb.and(cb.equal(createdAt, after.createdAt()), cb.greaterThan(id, after.id()))
+            ));
+        }
+
+        query.select(cb.construct(CourseSummary.class,
+                        id,
+                        course.get("title"),
+                        course.get("category"),
+                        course.get("level"),
+                        course.get("price"),
+                        course.get("thumbnail"),
+                        course.get("duration"),
+                        course.get("instructorId"),
+                        createdAt))
+                .where(predicates.toArray(new Predicate[0]))
+                .orderBy(cb.asc(createdAt), cb.asc(id));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+}
@@ -0,0 +1,412 @@
+package com.eduplatform.course.service;
+
+import com.eduplatform.course.cache.CourseChangedEvent;
+import com.eduplatform.course.dto.CourseImportRow;
+import com.eduplatform.course.dto.ImportReport;
+import com.eduplatform.course.entity.Course;
+import com.eduplatform.course.event.CourseEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.annotation.Timed;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Bulk course import/export over plain JDBC. Imports stream the upload line by line and insert
+// valid rows in JDBC batches, one transaction per batch; exports stream rows from a server-side
+// cursor straight to the response. Neither side ever holds more than one batch in memory.
+// Each imported course gets a CourseCreated outbox row in the same JDBC batch and transaction.
+@Slf4j
+@Timed(value = "course.service", histogram = true)
+@Service
+public class CourseBulkService {
+
+    public enum Format { NDJSON, CSV }
+
+    private static final String[] COLUMNS = {
+            "id", "title", "description", "instructorId", "price", "category",
+            "thumbnail", "duration", "level", "isPublished", "createdAt"
+    };
+
+    private static final String INSERT_SQL =
+            "INSERT INTO courses (id, title, description, instructor_id, price, category, thumbnail, duration, level, " +
+            "is_published, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    // Same row OutboxWriter writes through JPA; the id comes from the column default
+    private static final String INSERT_OUTBOX_SQL =
+            "INSERT INTO course_outbox_events (topic, aggregate_id, event_type, payload, created_at) VALUES (?, ?, ?, ?, ?)";
+
+    private static final String RESERVE_IDS_SQL = "SELECT nextval('courses_seq') FROM generate_series(1, ?)";
+
+    private static final String EXPORT_SQL =
+            "SELECT id, title, description, instructor_id, price, category, thumbnail, duration, level, " +
+            "is_published, created_at FROM courses ORDER BY id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcTemplate exportJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int batchSize;
+    private final int maxReportedErrors;
+
+    public CourseBulkService(DataSource dataSource,
+                             PlatformTransactionManager transactionManager,
+                             ObjectMapper objectMapper,
+                             Validator validator,
+                             ApplicationEventPublisher eventPublisher,
+                             @Value("${courses.import.batch-size:1000}") int batchSize,
+                             @Value("${courses.import.max-reported-errors:1000}") int maxReportedErrors,
+                             @Value("${courses.export.fetch-size:1000}") int exportFetchSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        // PostgreSQL only streams with a fetch size inside a transaction; otherwise it buffers the whole result
+        this.exportJdbcTemplate = new JdbcTemplate(dataSource);
+        this.exportJdbcTemplate.setFetchSize(exportFetchSize);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.eventPublisher = eventPublisher;
+        this.batchSize = batchSize;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    public ImportReport importCourses(InputStream input, Format format) throws IOException {
+        ImportReport report = new ImportReport();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+
+        long lineNumber = 0;
+        Function<String, CourseImportRow> parser;
+        if (format == Format.CSV) {
+            String header = reader.readLine();
+            lineNumber++;
+            if (header == null) {
+                return report;
+            }
+            parser = csvRowParser(parseCsvLine(header));
+        } else {
+            parser = line -> {
+                try {
+                    return objectMapper.readValue(line, CourseImportRow.class);
+                } catch (IOException e) {
+                    throw new IllegalArgumentException("Invalid JSON: " + e.getOriginalMessage());
+                }
+            };
+        }
+
+        List<NumberedRow> batch = new ArrayList<>(batchSize);
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                CourseImportRow row = parser.apply(line);
+                String violations = validate(row);
+                if (violations != null) {
+                    report.addError(lineNumber, violations, maxReportedErrors);
+                    continue;
+                }
+                batch.add(new NumberedRow(lineNumber, null, row));
+            } catch (RuntimeException e) {
+                report.addError(lineNumber, e.getMessage(), maxReportedErrors);
+                continue;
+            }
+
+            if (batch.size() == batchSize) {
+                insertBatch(batch, report);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            insertBatch(batch, report);
+        }
+
+        log.info("Course import finished: {} imported, {} failed", report.getImported(), report.getFailed());
+        return report;
+    }
+
+    public void exportCourses(OutputStream output, Format format) {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8), 64 * 1024);
+        readOnlyTransactionTemplate.executeWithoutResult(status -> {
+            try {
+                if (format == Format.CSV) {
+                    writer.write(String.join(",", COLUMNS));
+                    writer.write('\n');
+                }
+                exportJdbcTemplate.query(EXPORT_SQL, rs -> {
+                    try {
+                        writeRow(writer, rs, format);
+                    } catch (IOException e) {
+                        // Client went away; abandon the cursor
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                writer.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private void insertBatch(List<NumberedRow> batch, ImportReport report) {
+        // Ids are reserved up front, so a retried row keeps its id (sequence values survive rollbacks)
+        List<Long> ids = reserveIds(batch.size());
+        List<NumberedRow> rows = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            rows.add(new NumberedRow(batch.get(i).line(), ids.get(i), batch.get(i).row()));
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.batchUpdate(INSERT_SQL, rows, rows.size(), (ps, row) -> bind(ps, row.id(), row.row()));
+                jdbcTemplate.batchUpdate(INSERT_OUTBOX_SQL, rows, rows.size(), this::bindCreatedEvent);
+                evictInstructorListings(batch);
+            });
+            report.setImported(report.getImported() + batch.size());
+        } catch (DataAccessException e) {
+            // A row the database rejected fails the whole batch; redo it row by row to find the culprits
+            for (NumberedRow row : rows) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> {
+                        jdbcTemplate.update(INSERT_SQL, ps -> bind(ps, row.id(), row.row()));
+                        jdbcTemplate.update(INSERT_OUTBOX_SQL, ps -> bindCreatedEvent(ps, row));
+                        evictInstructorListings(List.of(row));
+                    });
+                    report.setImported(report.getImported() + 1);
+                } catch (DataAccessException rowError) {
+                    report.addError(row.line(), NestedExceptionUtils.getMostSpecificCause(rowError).getMessage(), maxReportedErrors);
+                }
+            }
+        }
+    }
+
+    // Same pooled-lo scheme as Hibernate: each nextval value starts a block of ID_ALLOCATION_SIZE ids
+    private List<Long> reserveIds(int count) {
+        int blocks = (count + Course.ID_ALLOCATION_SIZE - 1) / Course.ID_ALLOCATION_SIZE;
+        List<Long> blockStarts = jdbcTemplate.queryForList(RESERVE_IDS_SQL, Long.class, blocks);
+
+        List<Long> ids = new ArrayList<>(count);
+        for (Long start : blockStarts) {
+            for (int i = 0; i < Course.ID_ALLOCATION_SIZE && ids.size() < count; i++) {
+                ids.add(start + i);
+            }
+        }
+        return ids;
+    }
+
+    // CourseCacheInvalidator evicts these after the batch commits
+    private void evictInstructorListings(List<NumberedRow> rows) {
+        Set<Long> instructorIds = rows.stream().map(row -> row.row().getInstructorId()).collect(Collectors.toSet());
+        instructorIds.forEach(instructorId -> eventPublisher.publishEvent(new CourseChangedEvent(null, instructorId)));
+    }
+
+    private static void bind(PreparedStatement ps, long id, CourseImportRow row) throws SQLException {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        ps.setLong(1, id);
+        ps.setString(2, row.getTitle());
+        ps.setString(3, row.getDescription());
+        ps.setLong(4, row.getInstructorId());
+        ps.setBigDecimal(5, row.getPrice());
+        ps.setString(6, row.getCategory());
+        ps.setString(7, row.getThumbnail());
+        ps.setObject(8, row.getDuration(), Types.INTEGER);
+        ps.setString(9, row.getLevel() != null ? row.getLevel().name() : null);
+        ps.setBoolean(10, Boolean.TRUE.equals(row.getIsPublished()));
+        ps.setTimestamp(11, now);
+        ps.setTimestamp(12, now);
+    }
+
+    private void bindCreatedEvent(PreparedStatement ps, NumberedRow row) throws SQLException {
+        CourseImportRow course = row.row();
+        CourseEvent event = new CourseEvent(CourseEvent.COURSE_CREATED, row.id(), course.getInstructorId(), course.getTitle(),
+                course.getCategory(), course.getLevel(), course.getPrice(), Boolean.TRUE.equals(course.getIsPublished()),
+                Instant.now());
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize " + CourseEvent.COURSE_CREATED + " event", e);
+        }
+        ps.setString(1, CourseEvent.TOPIC);
+        ps.setString(2, String.valueOf(row.id()));
+        ps.setString(3, CourseEvent.COURSE_CREATED);
+        ps.setString(4, payload);
+        ps.setTimestamp(5, Timestamp.valueOf(LocalDateTime.now()));
+    }
+
+    private String validate(CourseImportRow row) {
+        Set<ConstraintViolation<CourseImportRow>> violations = validator.validate(row);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    private void writeRow(Writer writer, ResultSet rs, Format format) throws SQLException, IOException {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("id", rs.getLong("id"));
+        row.put("title", rs.getString("title"));
+        row.put("description", rs.getString("description"));
+        row.put("instructorId", rs.getObject("instructor_id"));
+        row.put("price", rs.getBigDecimal("price"));
+        row.put("category", rs.getString("category"));
+        row.put("thumbnail", rs.getString("thumbnail"));
+        row.put("duration", rs.getObject("duration"));
+        row.put("level", rs.getString("level"));
+        row.put("isPublished", rs.getObject("is_published"));
+        Timestamp createdAt = rs.getTimestamp("created_at");
+        row.put("createdAt", createdAt != null ? createdAt.toLocalDateTime().toString() : null);
+
+        if (format == Format.NDJSON) {
+            writer.write(objectMapper.writeValueAsString(row));
+        } else {
+            boolean first = true;
+            for (Object value : row.values()) {
+                if (!first) {
+                    writer.write(',');
+                }
+                writer.write(csvField(value));
+                first = false;
+            }
+        }
+        writer.write('\n');
+    }
+
+    // Maps CSV columns by header name, so column order and extra columns don't matter
+    private static Function<String, CourseImportRow> csvRowParser(List<String> header) {
+        Map<String, Integer> index = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            index.put(header.get(i).trim(), i);
+        }
+
+        return line -> {
+            List<String> fields = parseCsvLine(line);
+            Function<String, String> field = name -> {
+                Integer i = index.get(name);
+                if (i == null || i >= fields.size() || fields.get(i).isEmpty()) {
+                    return null;
+                }
+                return fields.get(i);
+            };
+
+            CourseImportRow row = new CourseImportRow();
+            row.setTitle(field.apply("title"));
+            row.setDescription(field.apply("description"));
+            row.setCategory(field.apply("category"));
+            row.setThumbnail(field.apply("thumbnail"));
+            try {
+                String value;
+                if ((value = field.apply("instructorId")) != null) {
+                    row.setInstructorId(Long.valueOf(value.trim()));
+                }
+                if ((value = field.apply("price")) != null) {
+                    row.setPrice(new BigDecimal(value.trim()));
+                }
+                if ((value = field.apply("duration")) != null) {
+                    row.setDuration(Integer.valueOf(value.trim()));
+                }
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid number: " + e.getMessage());
+            }
+            String level = field.apply("level");
+            if (level != null) {
+                row.setLevel(Course.Level.valueOf(level.trim().toUpperCase()));
+            }
+            String published = field.apply("isPublished");
+            row.setIsPublished(published != null && Boolean.parseBoolean(published.trim()));
+            return row;
+        };
+    }
+
+    // RFC 4180 fields on one line: quoted fields may contain commas and "" escapes, not line breaks
+    private static List<String> parseCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        fields.add(current.toString());
+        return fields;
+    }
+
+    private static String csvField(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        // Line breaks are flattened so every record stays on one line, as the importer expects
+        return '"' + text.replace("\"", "\"\"").replace('\r', ' ').replace('\n', ' ') + '"';
+    }
+
+    private record NumberedRow(long line, Long id, CourseImportRow row) {
+    }
+}
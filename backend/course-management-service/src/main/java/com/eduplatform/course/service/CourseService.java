@@ -1,34 +1,105 @@
 package com.eduplatform.course.service;
 
+import com.eduplatform.course.cache.CourseCacheInvalidator;
+import com.eduplatform.course.cache.CourseChangedEvent;
+import com.eduplatform.course.dto.CourseCursor;
+import com.eduplatform.course.dto.CourseDetail;
+import com.eduplatform.course.dto.CoursePage;
+import com.eduplatform.course.dto.CourseSearchPage;
+import com.eduplatform.course.dto.CourseSummary;
 import com.eduplatform.course.entity.Course;
+import com.eduplatform.course.event.CourseEvent;
+import com.eduplatform.course.outbox.OutboxWriter;
 import com.eduplatform.course.repository.CourseRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
+// Reads default to read-only transactions (no flush, no dirty checking, replica-routable);
+// the writes opt back in to read-write
+@Timed(value = "course.service", histogram = true)
 @Service
 @RequiredArgsConstructor
-@Transactional
+@Transactional(readOnly = true)
 public class CourseService {
 
     private final CourseRepository courseRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final OutboxWriter outboxWriter;
 
-    public List<Course> getAllPublishedCourses() {
-        return courseRepository.findByIsPublishedTrue();
+    public CoursePage getPublishedCourses(String category, Course.Level level, Long instructorId,
+                                          String cursor, int size) {
+        CourseCursor after = cursor != null ? CourseCursor.decode(cursor) : null;
+
+        // Fetch one extra row to learn whether another page follows
+        List<CourseSummary> courses = courseRepository.findPublishedSummaries(category, level, instructorId, after, size + 1);
+
+        if (courses.size() <= size) {
+            return new CoursePage(courses, null);
+        }
+        List<CourseSummary> page = courses.subList(0, size);
+        return new CoursePage(page, CourseCursor.after(page.get(size - 1)).encode());
     }
 
-    public Optional<Course> getCourseById(Long id) {
-        return courseRepository.findById(id);
+    public CourseSearchPage searchPublishedCourses(String text, int page, int size) {
+        String query = toPrefixTsQuery(text);
+        if (query.isEmpty()) {
+            return new CourseSearchPage(List.of(), page, false);
+        }
+
+        List<Long> ids = courseRepository.searchPublishedIds(query, size + 1, (long) page * size);
+        boolean hasMore = ids.size() > size;
+        List<Long> pageIds = hasMore ? ids.subList(0, size) : ids;
+
+        // Restore rank order, which the IN query does not preserve
+        Map<Long, Integer> rank = new HashMap<>();
+        for (int i = 0; i < pageIds.size(); i++) {
+            rank.put(pageIds.get(i), i);
+        }
+        List<CourseSummary> courses = courseRepository.findSummariesByIdIn(pageIds).stream()
+                .sorted(Comparator.comparing((CourseSummary course) -> rank.get(course.getId())))
+                .collect(Collectors.toList());
+
+        return new CourseSearchPage(courses, page, hasMore);
     }
 
-    public Course createCourse(Course course) {
-        return courseRepository.save(course);
+    // "intro java" -> "intro & java:*", so the last word also matches as a typeahead prefix
+    private static String toPrefixTsQuery(String text) {
+        List<String> terms = Arrays.stream(text.toLowerCase().split("[^\\p{L}\\p{N}]+"))
+                .filter(term -> !term.isEmpty())
+                .collect(Collectors.toList());
+        if (terms.isEmpty()) {
+            return "";
+        }
+        return String.join(" & ", terms) + ":*";
     }
 
-    public Optional<Course> updateCourse(Long id, Course courseDetails) {
+    @Cacheable(cacheNames = CourseCacheInvalidator.COURSES_CACHE, key = "#id")
+    public Optional<CourseDetail> getCourseById(Long id) {
+        return courseRepository.findDetailById(id);
+    }
+
+    @Transactional
+    public CourseDetail createCourse(Course course) {
+        Course saved = courseRepository.saveAndFlush(course); // flushed so the audit timestamps are set in the response
+        eventPublisher.publishEvent(new CourseChangedEvent(saved.getId(), saved.getInstructorId()));
+        appendEvent(CourseEvent.COURSE_CREATED, saved);
+        return CourseDetail.from(saved);
+    }
+
+    @Transactional
+    public Optional<CourseDetail> updateCourse(Long id, Course courseDetails) {
         return courseRepository.findById(id)
                 .map(course -> {
                     course.setTitle(courseDetails.getTitle());
@@ -39,15 +110,28 @@ public class CourseService {
                     course.setDuration(courseDetails.getDuration());
                     course.setLevel(courseDetails.getLevel());
                     course.setIsPublished(courseDetails.getIsPublished());
-                    return courseRepository.save(course);
+                    eventPublisher.publishEvent(new CourseChangedEvent(course.getId(), course.getInstructorId()));
+                    appendEvent(CourseEvent.COURSE_UPDATED, course);
+                    return CourseDetail.from(courseRepository.saveAndFlush(course));
                 });
     }
 
+    @Transactional
     public void deleteCourse(Long id) {
-        courseRepository.deleteById(id);
+        courseRepository.findById(id).ifPresent(course -> {
+            courseRepository.delete(course);
+            eventPublisher.publishEvent(new CourseChangedEvent(course.getId(), course.getInstructorId()));
+            appendEvent(CourseEvent.COURSE_DELETED, course);
+        });
+    }
+
+    // Written to the outbox in this transaction; OutboxRelay publishes it after commit
+    private void appendEvent(String type, Course course) {
+        outboxWriter.append(CourseEvent.TOPIC, course.getId(), type, CourseEvent.of(type, course));
     }
 
-    public List<Course> getCoursesByInstructor(Long instructorId) {
-        return courseRepository.findByInstructorId(instructorId);
+    @Cacheable(cacheNames = CourseCacheInvalidator.INSTRUCTOR_COURSES_CACHE, key = "#instructorId")
+    public List<CourseSummary> getCoursesByInstructor(Long instructorId) {
+        return courseRepository.findSummariesByInstructorId(instructorId);
     }
 }
\ No newline at end of file
@@ -0,0 +1,22 @@
+-- Moves tables created with IDENTITY ids onto the pooled-lo sequences the entities now use.
+-- Runs after Hibernate has updated the schema and is safe to re-run on every start: existing ids
+-- are kept and each sequence only ever moves forward.
+
+CREATE SEQUENCE IF NOT EXISTS courses_seq START WITH 1 INCREMENT BY 50;
+
+-- Ids are assigned by Hibernate and the bulk importer now; a leftover column default would hand out colliding ids
+ALTER TABLE courses ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE courses ALTER COLUMN id DROP DEFAULT;
+
+SELECT setval('courses_seq', m) FROM (SELECT MAX(id) AS m FROM courses) t
+WHERE m >= (SELECT last_value FROM courses_seq);
+
+-- Outbox ids stay database-assigned, one at a time, so their order follows the order changes to an
+-- aggregate commit in (see OutboxEvent). Whether Hibernate created the column as IDENTITY or an
+-- earlier version moved it onto a 50-id block sequence, it ends up with a per-row sequence default.
+ALTER TABLE course_outbox_events ALTER COLUMN id DROP IDENTITY IF EXISTS;
+CREATE SEQUENCE IF NOT EXISTS course_outbox_events_seq;
+ALTER SEQUENCE course_outbox_events_seq INCREMENT BY 1;
+SELECT setval('course_outbox_events_seq', m) FROM (SELECT MAX(id) AS m FROM course_outbox_events) t
+WHERE m >= (SELECT last_value FROM course_outbox_events_seq);
+ALTER TABLE course_outbox_events ALTER COLUMN id SET DEFAULT nextval('course_outbox_events_seq');
@@ -0,0 +1,11 @@
+-- How far each user-events partition had been consumed when the instructor_profiles snapshot was
+-- written (see InstructorDirectory). Safe to re-run on every start.
+
+ALTER TABLE instructor_profiles ADD COLUMN IF NOT EXISTS event_offset BIGINT;
+
+CREATE TABLE IF NOT EXISTS instructor_snapshot_offsets (
+    topic        VARCHAR(255) NOT NULL,
+    partition_id INT          NOT NULL,
+    next_offset  BIGINT       NOT NULL,
+    PRIMARY KEY (topic, partition_id)
+);
@@ -0,0 +1,109 @@
+package com.eduplatform.course.client;
+
+import com.eduplatform.course.dto.InstructorSummary;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.RestClient;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// The user service is stood in for by a local HTTP server that, like the real endpoint
+// (@Size(max = 1000)), answers 400 to a batch of more than 1000 ids
+class UserBatchClientTest {
+
+    private static final int ENDPOINT_LIMIT = 1000;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+
+    private final ExecutorService serverThreads = Executors.newFixedThreadPool(4);
+    private HttpServer server;
+    private UserBatchClient client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/api/users/batch", this::answerBatch);
+        server.setExecutor(serverThreads);
+        server.start();
+
+        client = new UserBatchClient(RestClient.builder(), "http://localhost:" + server.getAddress().getPort(),
+                Duration.ofMillis(5), Duration.ofSeconds(2), 4, 16);
+    }
+
+    @AfterEach
+    void tearDown() {
+        client.shutdown();
+        server.stop(0);
+        serverThreads.shutdownNow();
+    }
+
+    @Test
+    void concurrentLookupsBeyondTheEndpointLimitAreSplitIntoBatches() throws Exception {
+        int lookups = 2500;
+        int threads = 10;
+        Map<Long, InstructorSummary> resolved = new ConcurrentHashMap<>();
+
+        ExecutorService callers = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> calls = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                long first = (long) t * lookups / threads + 1;
+                long last = (long) (t + 1) * lookups / threads;
+                calls.add(callers.submit(() -> resolved.putAll(client.getUsers(LongStream.rangeClosed(first, last).boxed().toList()))));
+            }
+            for (Future<?> call : calls) {
+                call.get();
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+
+        assertThat(resolved).hasSize(lookups);
+        assertThat(resolved.get(1234L).getUsername()).isEqualTo("user1234");
+        assertThat(batchSizes).allSatisfy(size -> assertThat(size).isLessThanOrEqualTo(ENDPOINT_LIMIT));
+        assertThat(batchSizes.stream().mapToInt(Integer::intValue).sum()).isEqualTo(lookups);
+    }
+
+    private void answerBatch(HttpExchange exchange) throws IOException {
+        JsonNode ids = objectMapper.readTree(exchange.getRequestBody()).get("ids");
+        batchSizes.add(ids.size());
+
+        byte[] body;
+        int status;
+        if (ids.size() > ENDPOINT_LIMIT) {
+            status = 400;
+            body = new byte[0];
+        } else {
+            List<InstructorSummary> users = new ArrayList<>();
+            ids.forEach(id -> users.add(new InstructorSummary(id.asLong(), "user" + id.asLong(), "First", "Last", null)));
+            status = 200;
+            body = objectMapper.writeValueAsBytes(users);
+        }
+
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, body.length == 0 ? -1 : body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
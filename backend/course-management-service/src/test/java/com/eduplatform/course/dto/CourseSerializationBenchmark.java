@@ -0,0 +1,85 @@
+package com.eduplatform.course.dto;
+
+import com.eduplatform.course.entity.Course;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Writing a 100-course list page as JSON: the Course entities the endpoints used to return against
+// the CourseSummary projection they return now. Payload sizes are printed once per fork; allocated
+// bytes per page come from JMH's GC profiler (gc.alloc.rate.norm).
+// Run with scripts/perf/jmh-benchmark-mac.sh course-management-service CourseSerializationBenchmark -prof gc
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CourseSerializationBenchmark {
+
+    private static final int PAGE_SIZE = 100;
+
+    // Configured the way Spring Boot configures its own (java.time support, ISO dates)
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private List<Course> entities;
+    private List<CourseSummary> summaries;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        entities = new ArrayList<>();
+        summaries = new ArrayList<>();
+        LocalDateTime createdAt = LocalDateTime.of(2026, 1, 1, 9, 0);
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            Course course = Course.builder()
+                    .id(1000L + i)
+                    .title("Course " + i + ": Practical Spring Boot Microservices")
+                    .description(("Build, test and deploy production-ready services with Spring Boot, Kafka and Postgres. "
+                            + "Covers messaging, caching, observability and deployment. ").repeat(4))
+                    .instructorId(10L + i % 7)
+                    .price(new BigDecimal("49.99"))
+                    .category(i % 2 == 0 ? "programming" : "cloud")
+                    // Most catalogue entries have no thumbnail yet
+                    .thumbnail(i % 4 == 0 ? "https://cdn.example.com/thumbnails/" + i + ".jpg" : null)
+                    .duration(120 + i)
+                    .level(Course.Level.values()[i % 3])
+                    .isPublished(true)
+                    .createdAt(createdAt.plusMinutes(i))
+                    .updatedAt(createdAt.plusDays(1).plusMinutes(i))
+                    .build();
+            entities.add(course);
+            summaries.add(new CourseSummary(course.getId(), course.getTitle(), course.getCategory(), course.getLevel(),
+                    course.getPrice(), course.getThumbnail(), course.getDuration(), course.getInstructorId(),
+                    course.getCreatedAt()));
+        }
+
+        System.out.printf("%nPayload per %d-course page: entities %d bytes, summaries %d bytes%n",
+                PAGE_SIZE, entities().length, summaries().length);
+    }
+
+    @Benchmark
+    public byte[] entities() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(entities);
+    }
+
+    @Benchmark
+    public byte[] summaries() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(summaries);
+    }
+}
@@ -0,0 +1,13 @@
+package com.eduplatform.progress;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@SpringBootApplication
+@EnableScheduling
+public class ProgressTrackingApplication {
+    public static void main(String[] args) {
+        SpringApplication.run(ProgressTrackingApplication.class, args);
+    }
+}
@@ -0,0 +1,238 @@
+package com.eduplatform.progress.analytics;
+
+import com.eduplatform.progress.dto.CourseTotals;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.SortedMap;
+import java.util.stream.Stream;
+
+// Rows are passed as parallel arrays and unnested server-side, so each step of a flush is one
+// statement whatever the batch size, and RETURNING tells us which facts were actually new
+@Repository
+@RequiredArgsConstructor
+public class AnalyticsRepository {
+
+    private static final String UPSERT_COURSE_SQL =
+            "INSERT INTO analytics_courses (course_id, instructor_id, price, updated_at) VALUES (?, ?, ?, ?) " +
+            "ON CONFLICT (course_id) DO UPDATE SET instructor_id = EXCLUDED.instructor_id, price = EXCLUDED.price, " +
+            "updated_at = EXCLUDED.updated_at WHERE analytics_courses.updated_at <= EXCLUDED.updated_at";
+
+    // Facts for courses not (yet) in analytics_courses are kept but not attributed, so they don't reach
+    // the rollups; only the attributed new ones are returned
+    private static final String INSERT_ENROLLMENTS_SQL =
+            "WITH inserted AS (" +
+            "INSERT INTO course_enrollments (user_id, course_id, enrolled_at, attributed) " +
+            "SELECT n.user_id, n.course_id, n.enrolled_at, c.course_id IS NOT NULL " +
+            "FROM unnest(?::bigint[], ?::bigint[], ?::timestamp[]) AS n(user_id, course_id, enrolled_at) " +
+            "LEFT JOIN analytics_courses c ON c.course_id = n.course_id " +
+            "ON CONFLICT DO NOTHING RETURNING course_id, enrolled_at, attributed) " +
+            "SELECT course_id, enrolled_at FROM inserted WHERE attributed";
+
+    // Lesson ids come from the client, so one learner can only complete so many lessons per course:
+    // new completions are ranked per (user, course) and dropped past the cap
+    private static final String INSERT_COMPLETIONS_SQL =
+            "WITH candidates AS (" +
+            "SELECT n.*, row_number() OVER (PARTITION BY n.user_id, n.course_id ORDER BY n.lesson_id) AS seq " +
+            "FROM unnest(?::bigint[], ?::bigint[], ?::bigint[], ?::timestamp[]) AS n(user_id, lesson_id, course_id, completed_at) " +
+            "WHERE NOT EXISTS (SELECT 1 FROM lesson_completions p WHERE p.user_id = n.user_id AND p.lesson_id = n.lesson_id)" +
+            "), inserted AS (" +
+            "INSERT INTO lesson_completions (user_id, lesson_id, course_id, completed_at, attributed) " +
+            "SELECT n.user_id, n.lesson_id, n.course_id, n.completed_at, c.course_id IS NOT NULL " +
+            "FROM candidates n LEFT JOIN analytics_courses c ON c.course_id = n.course_id " +
+            "WHERE n.seq + (SELECT count(*) FROM lesson_completions p " +
+            "WHERE p.user_id = n.user_id AND p.course_id = n.course_id) <= ? " +
+            "ON CONFLICT DO NOTHING RETURNING course_id, completed_at, attributed) " +
+            "SELECT course_id, completed_at FROM inserted WHERE attributed";
+
+    // Facts recorded before their course reached analytics_courses; the row locks keep two replicas
+    // from attributing the same fact
+    private static final String ATTRIBUTE_ENROLLMENTS_SQL =
+            "UPDATE course_enrollments e SET attributed = TRUE FROM analytics_courses c " +
+            "WHERE c.course_id = e.course_id AND NOT e.attributed RETURNING e.course_id, e.enrolled_at";
+
+    private static final String ATTRIBUTE_COMPLETIONS_SQL =
+            "UPDATE lesson_completions l SET attributed = TRUE FROM analytics_courses c " +
+            "WHERE c.course_id = l.course_id AND NOT l.attributed RETURNING l.course_id, l.completed_at";
+
+    // Revenue uses the course's price when the enrollment is recorded
+    private static final String ADD_COURSE_STATS_SQL =
+            "INSERT INTO course_daily_stats (course_id, day, enrollments, completions, revenue) " +
+            "SELECT d.course_id, d.day, d.enrollments, d.completions, d.enrollments * COALESCE(c.price, 0) " +
+            "FROM unnest(?::bigint[], ?::date[], ?::int[], ?::int[]) AS d(course_id, day, enrollments, completions) " +
+            "LEFT JOIN analytics_courses c ON c.course_id = d.course_id " +
+            "ORDER BY d.course_id, d.day " +
+            "ON CONFLICT (course_id, day) DO UPDATE SET " +
+            "enrollments = course_daily_stats.enrollments + EXCLUDED.enrollments, " +
+            "completions = course_daily_stats.completions + EXCLUDED.completions, " +
+            "revenue = course_daily_stats.revenue + EXCLUDED.revenue";
+
+    private static final String ADD_INSTRUCTOR_STATS_SQL =
+            "INSERT INTO instructor_daily_stats (instructor_id, day, enrollments, completions, revenue) " +
+            "SELECT c.instructor_id, d.day, SUM(d.enrollments), SUM(d.completions), SUM(d.enrollments * c.price) " +
+            "FROM unnest(?::bigint[], ?::date[], ?::int[], ?::int[]) AS d(course_id, day, enrollments, completions) " +
+            "JOIN analytics_courses c ON c.course_id = d.course_id " +
+            "WHERE c.instructor_id IS NOT NULL " +
+            "GROUP BY c.instructor_id, d.day ORDER BY c.instructor_id, d.day " +
+            "ON CONFLICT (instructor_id, day) DO UPDATE SET " +
+            "enrollments = instructor_daily_stats.enrollments + EXCLUDED.enrollments, " +
+            "completions = instructor_daily_stats.completions + EXCLUDED.completions, " +
+            "revenue = instructor_daily_stats.revenue + EXCLUDED.revenue";
+
+    private static final String COURSE_SERIES_SQL =
+            "SELECT day, enrollments, completions, revenue FROM course_daily_stats " +
+            "WHERE course_id = ? AND day BETWEEN ? AND ? ORDER BY day";
+
+    private static final String INSTRUCTOR_SERIES_SQL =
+            "SELECT day, enrollments, completions, revenue FROM instructor_daily_stats " +
+            "WHERE instructor_id = ? AND day BETWEEN ? AND ? ORDER BY day";
+
+    // Sums at most range-days buckets per course, never the fact tables
+    private static final String INSTRUCTOR_COURSE_TOTALS_SQL =
+            "SELECT s.course_id, SUM(s.enrollments) AS enrollments, SUM(s.completions) AS completions, " +
+            "SUM(s.revenue) AS revenue FROM course_daily_stats s " +
+            "JOIN analytics_courses c ON c.course_id = s.course_id " +
+            "WHERE c.instructor_id = ? AND s.day BETWEEN ? AND ? GROUP BY s.course_id ORDER BY s.course_id";
+
+    public record DailyStats(LocalDate day, int enrollments, int completions, BigDecimal revenue) {
+    }
+
+    public record Enrollment(long userId, long courseId, long enrolledAt) {
+    }
+
+    public record Completion(long userId, long lessonId, long courseId, long completedAt) {
+    }
+
+    private static final RowMapper<DailyStats> DAILY_STATS_MAPPER = (rs, rowNum) -> new DailyStats(
+            rs.getDate("day").toLocalDate(),
+            rs.getInt("enrollments"),
+            rs.getInt("completions"),
+            rs.getBigDecimal("revenue"));
+
+    private static final RowMapper<DailyBucket> BUCKET_MAPPER = (rs, rowNum) -> new DailyBucket(
+            rs.getLong(1),
+            rs.getTimestamp(2).toLocalDateTime().toLocalDate());
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${analytics.max-completions-per-course:200}")
+    private int maxCompletionsPerCourse;
+
+    public void upsertCourse(long courseId, Long instructorId, BigDecimal price, Instant updatedAt) {
+        jdbcTemplate.update(UPSERT_COURSE_SQL, courseId, instructorId, price != null ? price : BigDecimal.ZERO,
+                Timestamp.from(updatedAt));
+    }
+
+    public Optional<Long> findInstructorId(long courseId) {
+        return jdbcTemplate.queryForList("SELECT instructor_id FROM analytics_courses WHERE course_id = ?",
+                Long.class, courseId).stream().filter(Objects::nonNull).findFirst();
+    }
+
+    // Returns the day buckets of the enrollments that weren't recorded before and belong to a known course
+    public List<DailyBucket> insertEnrollments(List<Enrollment> enrollments) {
+        if (enrollments.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(INSERT_ENROLLMENTS_SQL);
+            ps.setArray(1, longArray(con, enrollments.stream().map(Enrollment::userId)));
+            ps.setArray(2, longArray(con, enrollments.stream().map(Enrollment::courseId)));
+            ps.setArray(3, timestampArray(con, enrollments.stream().map(Enrollment::enrolledAt)));
+            return ps;
+        }, BUCKET_MAPPER);
+    }
+
+    public List<DailyBucket> insertCompletions(List<Completion> completions) {
+        if (completions.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(INSERT_COMPLETIONS_SQL);
+            ps.setArray(1, longArray(con, completions.stream().map(Completion::userId)));
+            ps.setArray(2, longArray(con, completions.stream().map(Completion::lessonId)));
+            ps.setArray(3, longArray(con, completions.stream().map(Completion::courseId)));
+            ps.setArray(4, timestampArray(con, completions.stream().map(Completion::completedAt)));
+            ps.setInt(5, maxCompletionsPerCourse);
+            return ps;
+        }, BUCKET_MAPPER);
+    }
+
+    public List<DailyBucket> attributeEnrollments() {
+        return jdbcTemplate.query(ATTRIBUTE_ENROLLMENTS_SQL, BUCKET_MAPPER);
+    }
+
+    public List<DailyBucket> attributeCompletions() {
+        return jdbcTemplate.query(ATTRIBUTE_COMPLETIONS_SQL, BUCKET_MAPPER);
+    }
+
+    // Facts of course ids that never showed up on course-events (made up by a client)
+    public int deleteUnattributed(Instant before) {
+        Timestamp cutoff = Timestamp.valueOf(before.atOffset(ZoneOffset.UTC).toLocalDateTime());
+        return jdbcTemplate.update("DELETE FROM course_enrollments WHERE NOT attributed AND enrolled_at < ?", cutoff)
+                + jdbcTemplate.update("DELETE FROM lesson_completions WHERE NOT attributed AND completed_at < ?", cutoff);
+    }
+
+    // deltas maps each bucket to {enrollments, completions}
+    public void addToRollups(SortedMap<DailyBucket, int[]> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        for (String sql : List.of(ADD_COURSE_STATS_SQL, ADD_INSTRUCTOR_STATS_SQL)) {
+            jdbcTemplate.update(con -> {
+                PreparedStatement ps = con.prepareStatement(sql);
+                ps.setArray(1, longArray(con, deltas.keySet().stream().map(DailyBucket::courseId)));
+                ps.setArray(2, con.createArrayOf("date", deltas.keySet().stream()
+                        .map(bucket -> Date.valueOf(bucket.day())).toArray()));
+                ps.setArray(3, con.createArrayOf("int4", deltas.values().stream().map(delta -> delta[0]).toArray()));
+                ps.setArray(4, con.createArrayOf("int4", deltas.values().stream().map(delta -> delta[1]).toArray()));
+                return ps;
+            });
+        }
+    }
+
+    public List<DailyStats> findCourseSeries(long courseId, LocalDate from, LocalDate to) {
+        return jdbcTemplate.query(COURSE_SERIES_SQL, DAILY_STATS_MAPPER, courseId, Date.valueOf(from),
+                Date.valueOf(to));
+    }
+
+    public List<DailyStats> findInstructorSeries(long instructorId, LocalDate from, LocalDate to) {
+        return jdbcTemplate.query(INSTRUCTOR_SERIES_SQL, DAILY_STATS_MAPPER, instructorId, Date.valueOf(from),
+                Date.valueOf(to));
+    }
+
+    public List<CourseTotals> findInstructorCourseTotals(long instructorId, LocalDate from, LocalDate to) {
+        return jdbcTemplate.query(INSTRUCTOR_COURSE_TOTALS_SQL, (rs, rowNum) -> new CourseTotals(
+                        rs.getLong("course_id"),
+                        rs.getLong("enrollments"),
+                        rs.getLong("completions"),
+                        rs.getBigDecimal("revenue")),
+                instructorId, Date.valueOf(from), Date.valueOf(to));
+    }
+
+    private static Array longArray(Connection con, Stream<Long> values) throws SQLException {
+        return con.createArrayOf("int8", values.toArray());
+    }
+
+    // Facts are stored as UTC wall-clock time, matching the day they are bucketed under
+    private static Array timestampArray(Connection con, Stream<Long> epochMillis) throws SQLException {
+        return con.createArrayOf("timestamp", epochMillis
+                .map(millis -> Timestamp.valueOf(Instant.ofEpochMilli(millis).atOffset(ZoneOffset.UTC).toLocalDateTime()))
+                .toArray());
+    }
+}
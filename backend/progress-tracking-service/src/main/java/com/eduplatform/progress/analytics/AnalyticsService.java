@@ -0,0 +1,59 @@
+package com.eduplatform.progress.analytics;
+
+import com.eduplatform.progress.analytics.AnalyticsRepository.DailyStats;
+import com.eduplatform.progress.dto.CourseAnalytics;
+import com.eduplatform.progress.dto.InstructorAnalytics;
+import com.eduplatform.progress.dto.StatsSeries;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+// Dashboard reads: at most one rollup row per day of the range, never the fact tables
+@Service
+@RequiredArgsConstructor
+public class AnalyticsService {
+
+    private final AnalyticsRepository analyticsRepository;
+
+    public Optional<Long> getInstructorId(long courseId) {
+        return analyticsRepository.findInstructorId(courseId);
+    }
+
+    public CourseAnalytics getCourseAnalytics(long courseId, LocalDate from, LocalDate to) {
+        return new CourseAnalytics(courseId, toSeries(from, to, analyticsRepository.findCourseSeries(courseId, from, to)));
+    }
+
+    public InstructorAnalytics getInstructorAnalytics(long instructorId, LocalDate from, LocalDate to) {
+        return new InstructorAnalytics(instructorId,
+                toSeries(from, to, analyticsRepository.findInstructorSeries(instructorId, from, to)),
+                analyticsRepository.findInstructorCourseTotals(instructorId, from, to));
+    }
+
+    private static StatsSeries toSeries(LocalDate from, LocalDate to, List<DailyStats> rows) {
+        int days = (int) ChronoUnit.DAYS.between(from, to) + 1;
+        int[] enrollments = new int[days];
+        int[] completions = new int[days];
+        BigDecimal[] revenue = new BigDecimal[days];
+        Arrays.fill(revenue, BigDecimal.ZERO);
+
+        long totalEnrollments = 0;
+        long totalCompletions = 0;
+        BigDecimal totalRevenue = BigDecimal.ZERO;
+        for (DailyStats row : rows) {
+            int i = (int) ChronoUnit.DAYS.between(from, row.day());
+            enrollments[i] = row.enrollments();
+            completions[i] = row.completions();
+            revenue[i] = row.revenue();
+            totalEnrollments += row.enrollments();
+            totalCompletions += row.completions();
+            totalRevenue = totalRevenue.add(row.revenue());
+        }
+        return new StatsSeries(from, to, totalEnrollments, totalCompletions, totalRevenue, enrollments, completions, revenue);
+    }
+}
@@ -0,0 +1,49 @@
+package com.eduplatform.progress.analytics;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+// Mirrors the course attributes the rollups need (instructor, price) into analytics_courses.
+// Replicas share one consumer group; the upsert ignores events older than the stored row.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CourseEventListener {
+
+    private static final String COURSE_EVENTS_TOPIC = "course-events";
+
+    private final AnalyticsRepository analyticsRepository;
+    private final ObjectMapper objectMapper;
+
+    // Deleted courses stay, so their history remains attributed to the instructor
+    @KafkaListener(topics = COURSE_EVENTS_TOPIC, groupId = "progress-analytics",
+            properties = "auto.offset.reset=earliest")
+    public void onCourseEvent(ConsumerRecord<String, String> record) {
+        CourseEventMessage event;
+        try {
+            event = objectMapper.readValue(record.value(), CourseEventMessage.class);
+        } catch (JsonProcessingException e) {
+            log.warn("Skipping unreadable course event at offset {}: {}", record.offset(), e.getMessage());
+            return;
+        }
+        if (event.courseId() == null) {
+            return;
+        }
+        // Database errors propagate, so the container redelivers the record
+        analyticsRepository.upsertCourse(event.courseId(), event.instructorId(), event.price(),
+                event.occurredAt() != null ? event.occurredAt() : Instant.now());
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record CourseEventMessage(String type, Long courseId, Long instructorId, BigDecimal price, Instant occurredAt) {
+    }
+}
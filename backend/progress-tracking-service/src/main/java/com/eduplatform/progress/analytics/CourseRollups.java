@@ -0,0 +1,92 @@
+package com.eduplatform.progress.analytics;
+
+import com.eduplatform.progress.analytics.AnalyticsRepository.Completion;
+import com.eduplatform.progress.analytics.AnalyticsRepository.Enrollment;
+import com.eduplatform.progress.ingest.LessonPosition;
+import com.eduplatform.progress.ingest.ProgressKey;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+// Keeps course_daily_stats and instructor_daily_stats current from the positions of each progress
+// flush. Runs inside the flush transaction, so the fact inserts that decide what is new and the
+// rollup increments commit or roll back together: a retried flush or replayed WAL segment never
+// counts an enrollment or completion twice. Only courses mirrored from course-events are counted,
+// and completions per learner and course are capped (see AnalyticsRepository); facts that arrive
+// before their course is mirrored are added by the attribution sweep once it is.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CourseRollups {
+
+    private static final Comparator<Enrollment> BY_USER_AND_COURSE =
+            Comparator.comparingLong(Enrollment::userId).thenComparingLong(Enrollment::courseId);
+
+    private final AnalyticsRepository analyticsRepository;
+
+    @Value("${analytics.unattributed-retention:7d}")
+    private Duration unattributedRetention;
+
+    // Entries arrive in key order; facts and rollup rows are written in key order as well
+    public void apply(List<Map.Entry<ProgressKey, LessonPosition>> entries) {
+        // Earliest activity per learner and course in this batch
+        TreeMap<Enrollment, Long> enrolledAt = new TreeMap<>(BY_USER_AND_COURSE);
+        List<Completion> completed = new ArrayList<>();
+        for (Map.Entry<ProgressKey, LessonPosition> entry : entries) {
+            ProgressKey key = entry.getKey();
+            LessonPosition position = entry.getValue();
+            enrolledAt.merge(new Enrollment(key.userId(), position.courseId(), 0), position.updatedAt(), Math::min);
+            if (position.completed()) {
+                completed.add(new Completion(key.userId(), key.lessonId(), position.courseId(), position.updatedAt()));
+            }
+        }
+
+        List<Enrollment> enrollments = new ArrayList<>(enrolledAt.size());
+        enrolledAt.forEach((enrollment, at) -> enrollments.add(new Enrollment(enrollment.userId(), enrollment.courseId(), at)));
+
+        SortedMap<DailyBucket, int[]> deltas = new TreeMap<>();
+        count(deltas, analyticsRepository.insertEnrollments(enrollments), 0);
+        count(deltas, analyticsRepository.insertCompletions(completed), 1);
+        analyticsRepository.addToRollups(deltas);
+    }
+
+    // The course-events record can land after the first progress on a course (consumer lag, or a
+    // flush racing the mirror insert); those facts are counted here once the course is known
+    @Scheduled(fixedDelayString = "${analytics.attribution-interval:10000}")
+    @Transactional
+    public void attributeLateFacts() {
+        SortedMap<DailyBucket, int[]> deltas = new TreeMap<>();
+        count(deltas, analyticsRepository.attributeEnrollments(), 0);
+        count(deltas, analyticsRepository.attributeCompletions(), 1);
+        if (!deltas.isEmpty()) {
+            analyticsRepository.addToRollups(deltas);
+            log.debug("Attributed late analytics facts to {} day buckets", deltas.size());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${analytics.unattributed-cleanup-interval:3600000}")
+    public void deleteUnattributed() {
+        int deleted = analyticsRepository.deleteUnattributed(Instant.now().minus(unattributedRetention));
+        if (deleted > 0) {
+            log.info("Deleted {} analytics facts of unknown courses", deleted);
+        }
+    }
+
+    private static void count(SortedMap<DailyBucket, int[]> deltas, List<DailyBucket> buckets, int metric) {
+        for (DailyBucket bucket : buckets) {
+            deltas.computeIfAbsent(bucket, b -> new int[2])[metric]++;
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.eduplatform.progress.analytics;
+
+import java.time.LocalDate;
+
+// A course's activity on one UTC day
+public record DailyBucket(long courseId, LocalDate day) implements Comparable<DailyBucket> {
+
+    // Rollup rows are incremented in this order, so concurrent flushes lock them in the same order
+    @Override
+    public int compareTo(DailyBucket other) {
+        int byCourse = Long.compare(courseId, other.courseId);
+        return byCourse != 0 ? byCourse : day.compareTo(other.day);
+    }
+}
@@ -0,0 +1,103 @@
+package com.eduplatform.progress.controller;
+
+import com.eduplatform.progress.dto.HeartbeatBatch;
+import com.eduplatform.progress.dto.LessonProgress;
+import com.eduplatform.progress.ingest.LessonPosition;
+import com.eduplatform.progress.ingest.ProgressAggregator;
+import com.eduplatform.progress.ingest.ProgressBackpressureException;
+import com.eduplatform.progress.repository.LessonProgressRepository;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+@RestController
+@RequestMapping("/api/progress")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*", maxAge = 3600)
+public class ProgressController {
+
+    private final ProgressAggregator progressAggregator;
+    private final LessonProgressRepository lessonProgressRepository;
+
+    @Value("${progress.max-batch-size:1000}")
+    private int maxBatchSize;
+
+    // Players buffer position samples and send them in batches; 202 once they are in the WAL
+    @PostMapping("/heartbeats")
+    public ResponseEntity<Map<String, Integer>> recordHeartbeats(@Valid @RequestBody HeartbeatBatch batch,
+                                                                 @RequestHeader(value = "X-User-Id", required = false) Long userId) {
+        if (userId == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        if (batch.getEvents().size() > maxBatchSize) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).build();
+        }
+        try {
+            int accepted = progressAggregator.record(userId, batch.getEvents());
+            return ResponseEntity.accepted().body(Map.of("accepted", accepted));
+        } catch (ProgressBackpressureException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .build();
+        }
+    }
+
+    // Stored positions with anything newer that hasn't been flushed yet laid over them. Lessons
+    // started within the last flush interval show up once flushed; the lesson endpoint sees them at once.
+    @GetMapping("/courses/{courseId}")
+    public ResponseEntity<List<LessonProgress>> getCourseProgress(@PathVariable Long courseId,
+                                                                  @RequestHeader(value = "X-User-Id", required = false) Long userId) {
+        if (userId == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        List<LessonProgress> lessons = lessonProgressRepository.findByUserAndCourse(userId, courseId).stream()
+                .map(stored -> progressAggregator.pendingPosition(userId, stored.getLessonId())
+                        .map(position -> overlay(stored, position))
+                        .orElse(stored))
+                .toList();
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                .body(lessons);
+    }
+
+    // Where the player resumes; checks the in-memory position first so it is never a flush behind
+    @GetMapping("/lessons/{lessonId}")
+    public ResponseEntity<LessonProgress> getLessonProgress(@PathVariable Long lessonId,
+                                                            @RequestHeader(value = "X-User-Id", required = false) Long userId) {
+        if (userId == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        Optional<LessonPosition> pending = progressAggregator.pendingPosition(userId, lessonId);
+        Optional<LessonProgress> stored = lessonProgressRepository.findByUserAndLesson(userId, lessonId);
+        Optional<LessonProgress> current = pending.isPresent()
+                ? Optional.of(stored.map(row -> overlay(row, pending.get())).orElseGet(() -> toDto(lessonId, pending.get())))
+                : stored;
+        return current
+                .map(progress -> ResponseEntity.ok().cacheControl(CacheControl.noStore()).body(progress))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    private static LessonProgress overlay(LessonProgress stored, LessonPosition pending) {
+        if (stored.getUpdatedAt().toEpochMilli() > pending.updatedAt()) {
+            return stored;
+        }
+        LessonProgress merged = toDto(stored.getLessonId(), pending);
+        merged.setCompleted(stored.isCompleted() || pending.completed());
+        return merged;
+    }
+
+    private static LessonProgress toDto(long lessonId, LessonPosition position) {
+        return new LessonProgress(lessonId, position.courseId(), position.positionSeconds(),
+                position.durationSeconds(), position.completed(), Instant.ofEpochMilli(position.updatedAt()));
+    }
+}
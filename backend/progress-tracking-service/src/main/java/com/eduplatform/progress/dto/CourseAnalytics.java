@@ -0,0 +1,13 @@
+package com.eduplatform.progress.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CourseAnalytics {
+    private Long courseId;
+    private StatsSeries daily;
+}
@@ -0,0 +1,17 @@
+package com.eduplatform.progress.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CourseTotals {
+    private Long courseId;
+    private long enrollments;
+    private long completions;
+    private BigDecimal revenue;
+}
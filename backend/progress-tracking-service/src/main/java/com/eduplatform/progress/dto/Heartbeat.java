@@ -0,0 +1,23 @@
+package com.eduplatform.progress.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.Data;
+
+// One "lesson position" sample from the player
+@Data
+public class Heartbeat {
+    @NotNull
+    private Long lessonId;
+
+    @NotNull
+    private Long courseId;
+
+    @PositiveOrZero
+    private int positionSeconds;
+
+    @PositiveOrZero
+    private int durationSeconds;
+
+    private Long timestamp; // epoch millis on the client; receive time when absent or in the future
+}
@@ -0,0 +1,14 @@
+package com.eduplatform.progress.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class HeartbeatBatch {
+    @NotEmpty
+    @Valid
+    private List<Heartbeat> events;
+}
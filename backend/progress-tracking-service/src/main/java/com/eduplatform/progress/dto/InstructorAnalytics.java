@@ -0,0 +1,16 @@
+package com.eduplatform.progress.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class InstructorAnalytics {
+    private Long instructorId;
+    private StatsSeries daily;
+    private List<CourseTotals> courses; // totals over the same range, per course with activity
+}
@@ -0,0 +1,19 @@
+package com.eduplatform.progress.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LessonProgress {
+    private Long lessonId;
+    private Long courseId;
+    private int positionSeconds;
+    private int durationSeconds;
+    private boolean completed;
+    private Instant updatedAt;
+}
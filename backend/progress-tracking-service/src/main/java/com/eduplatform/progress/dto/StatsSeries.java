@@ -0,0 +1,23 @@
+package com.eduplatform.progress.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Daily stats as one array per metric; index i is day from + i, days without activity are zero
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StatsSeries {
+    private LocalDate from;
+    private LocalDate to;
+    private long totalEnrollments;
+    private long totalCompletions;
+    private BigDecimal totalRevenue;
+    private int[] enrollments;
+    private int[] completions;
+    private BigDecimal[] revenue;
+}
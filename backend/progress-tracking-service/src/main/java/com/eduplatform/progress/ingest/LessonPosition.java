@@ -0,0 +1,14 @@
+package com.eduplatform.progress.ingest;
+
+// Latest known position of one learner in one lesson; updatedAt is epoch millis
+public record LessonPosition(long courseId, int positionSeconds, int durationSeconds, boolean completed, long updatedAt) {
+
+    // Keeps the newer sample; once a lesson is completed it stays completed
+    public static LessonPosition latest(LessonPosition a, LessonPosition b) {
+        LessonPosition newer = b.updatedAt >= a.updatedAt ? b : a;
+        boolean completed = a.completed || b.completed;
+        return newer.completed == completed
+                ? newer
+                : new LessonPosition(newer.courseId, newer.positionSeconds, newer.durationSeconds, true, newer.updatedAt);
+    }
+}
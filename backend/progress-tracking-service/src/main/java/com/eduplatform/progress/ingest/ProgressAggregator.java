@@ -0,0 +1,209 @@
+package com.eduplatform.progress.ingest;
+
+import com.eduplatform.progress.analytics.CourseRollups;
+import com.eduplatform.progress.dto.Heartbeat;
+import com.eduplatform.progress.repository.LessonProgressRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Coalesces heartbeats per (user, lesson) so a player reporting every few seconds costs one row
+// write per flush instead of one per event. Accepted batches are in the write-ahead log before they
+// are acknowledged; the log segments covering a flushed map are deleted only after the upsert commits.
+// The analytics rollups are derived from the same batch in the same transaction.
+@Slf4j
+@Component
+public class ProgressAggregator {
+
+    private final WriteAheadLog wal;
+    private final LessonProgressRepository repository;
+    private final CourseRollups courseRollups;
+    private final TransactionTemplate transactionTemplate;
+    private final long maxPendingEntries;
+    private final double completionThreshold;
+    private final long maxTimestampAgeMillis;
+
+    // Appends take the read lock, the swap takes the write lock, so every WAL record ends up in the
+    // segment whose map contains it
+    private final ReadWriteLock swapLock = new ReentrantReadWriteLock();
+    private volatile ConcurrentHashMap<ProgressKey, LessonPosition> pending = new ConcurrentHashMap<>();
+    // The map being upserted right now; reads still see it until it's in Postgres
+    private volatile Map<ProgressKey, LessonPosition> flushing = Map.of();
+    // Segments whose entries haven't been committed yet
+    private final List<Path> unflushedSegments = new ArrayList<>();
+
+    private final Counter accepted;
+    private final Counter rejected;
+    private final Timer flushTimer;
+
+    public ProgressAggregator(WriteAheadLog wal,
+                              LessonProgressRepository repository,
+                              CourseRollups courseRollups,
+                              TransactionTemplate transactionTemplate,
+                              @Value("${progress.max-pending-entries:500000}") long maxPendingEntries,
+                              @Value("${progress.completion-threshold:0.9}") double completionThreshold,
+                              @Value("${progress.max-timestamp-age:1h}") Duration maxTimestampAge,
+                              MeterRegistry meterRegistry) {
+        this.wal = wal;
+        this.repository = repository;
+        this.courseRollups = courseRollups;
+        this.transactionTemplate = transactionTemplate;
+        this.maxPendingEntries = maxPendingEntries;
+        this.completionThreshold = completionThreshold;
+        this.maxTimestampAgeMillis = maxTimestampAge.toMillis();
+
+        this.accepted = Counter.builder("progress.events.accepted")
+                .description("Heartbeats written to the write-ahead log")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("progress.events.rejected")
+                .description("Heartbeats refused because too many entries were waiting for a flush")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("progress.flush")
+                .description("Time to upsert one flush cycle and update its rollups")
+                .register(meterRegistry);
+        Gauge.builder("progress.pending.entries", this, aggregator -> aggregator.pending.size())
+                .description("Distinct (user, lesson) positions waiting for the next flush")
+                .register(meterRegistry);
+    }
+
+    // Rebuilds what the previous run acknowledged but never stored; persisted on the first flush
+    @PostConstruct
+    void recover() throws IOException {
+        long replayed = 0;
+        for (Path segment : wal.recoveredSegments()) {
+            long[] count = {0};
+            wal.replay(segment, (userId, update) -> {
+                merge(new ProgressKey(userId, update.lessonId()), toPosition(update));
+                count[0]++;
+            });
+            unflushedSegments.add(segment);
+            replayed += count[0];
+        }
+        if (replayed > 0) {
+            log.info("Replayed {} heartbeats from {} WAL segments", replayed, unflushedSegments.size());
+        }
+    }
+
+    public int record(long userId, List<Heartbeat> heartbeats) {
+        if (pending.size() + heartbeats.size() > maxPendingEntries) {
+            rejected.increment(heartbeats.size());
+            throw new ProgressBackpressureException("Progress ingestion is behind, retry shortly");
+        }
+
+        long now = System.currentTimeMillis();
+        long oldest = now - maxTimestampAgeMillis;
+        List<ProgressUpdate> updates = new ArrayList<>(heartbeats.size());
+        for (Heartbeat heartbeat : heartbeats) {
+            // Client clocks decide ordering within a session, but are clamped to [now - max age, now],
+            // so a bogus value can neither claim the future nor produce a timestamp Postgres rejects
+            long timestamp = heartbeat.getTimestamp() == null
+                    ? now
+                    : Math.max(oldest, Math.min(heartbeat.getTimestamp(), now));
+            updates.add(new ProgressUpdate(heartbeat.getLessonId(), heartbeat.getCourseId(),
+                    heartbeat.getPositionSeconds(), heartbeat.getDurationSeconds(), timestamp));
+        }
+
+        swapLock.readLock().lock();
+        try {
+            wal.append(userId, updates);
+            for (ProgressUpdate update : updates) {
+                merge(new ProgressKey(userId, update.lessonId()), toPosition(update));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to append to the progress WAL", e);
+        } finally {
+            swapLock.readLock().unlock();
+        }
+
+        accepted.increment(updates.size());
+        return updates.size();
+    }
+
+    // Newest position not yet in Postgres, if any
+    public Optional<LessonPosition> pendingPosition(long userId, long lessonId) {
+        ProgressKey key = new ProgressKey(userId, lessonId);
+        LessonPosition latest = pending.get(key);
+        LessonPosition inFlight = flushing.get(key);
+        if (latest == null || inFlight == null) {
+            return Optional.ofNullable(latest != null ? latest : inFlight);
+        }
+        return Optional.of(LessonPosition.latest(inFlight, latest));
+    }
+
+    @Scheduled(fixedDelayString = "${progress.flush-interval:1000}")
+    public synchronized void flush() {
+        ConcurrentHashMap<ProgressKey, LessonPosition> batch;
+        swapLock.writeLock().lock();
+        try {
+            // Segments are only ever deleted by a flush whose batch was committed
+            if (pending.isEmpty()) {
+                return;
+            }
+            batch = pending;
+            flushing = batch;
+            pending = new ConcurrentHashMap<>();
+            unflushedSegments.add(wal.rotate());
+        } catch (IOException e) {
+            // Nothing was swapped out unless the rotate succeeded; leave it all for the next run
+            log.warn("WAL rotation failed, retrying next flush: {}", e.getMessage());
+            return;
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+
+        List<Map.Entry<ProgressKey, LessonPosition>> entries = new ArrayList<>(batch.entrySet());
+        entries.sort(Map.Entry.comparingByKey());
+        try {
+            flushTimer.record(() -> transactionTemplate.executeWithoutResult(status -> {
+                repository.upsertAll(entries);
+                courseRollups.apply(entries);
+            }));
+            wal.delete(unflushedSegments);
+            unflushedSegments.clear();
+            log.debug("Flushed {} lesson positions", entries.size());
+        } catch (RuntimeException e) {
+            // Back into the live map, so the next flush retries them along with anything newer;
+            // their segments stay on disk until a flush containing them commits
+            batch.forEach(this::merge);
+            log.warn("Progress flush of {} entries failed, retrying next run: {}", entries.size(), e.getMessage());
+        } finally {
+            flushing = Map.of();
+        }
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        flush();
+    }
+
+    private void merge(ProgressKey key, LessonPosition position) {
+        pending.merge(key, position, LessonPosition::latest);
+    }
+
+    private LessonPosition toPosition(ProgressUpdate update) {
+        boolean completed = update.durationSeconds() > 0
+                && update.positionSeconds() >= update.durationSeconds() * completionThreshold;
+        return new LessonPosition(update.courseId(), update.positionSeconds(), update.durationSeconds(),
+                completed, update.timestamp());
+    }
+}
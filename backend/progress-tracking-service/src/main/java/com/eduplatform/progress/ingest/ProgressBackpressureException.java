@@ -0,0 +1,8 @@
+package com.eduplatform.progress.ingest;
+
+// Too many distinct (user, lesson) entries are waiting for the next flush
+public class ProgressBackpressureException extends RuntimeException {
+    public ProgressBackpressureException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,11 @@
+package com.eduplatform.progress.ingest;
+
+public record ProgressKey(long userId, long lessonId) implements Comparable<ProgressKey> {
+
+    // Upserts go out in key order, so concurrent flushes from several replicas lock rows in the same order
+    @Override
+    public int compareTo(ProgressKey other) {
+        int byUser = Long.compare(userId, other.userId);
+        return byUser != 0 ? byUser : Long.compare(lessonId, other.lessonId);
+    }
+}
@@ -0,0 +1,8 @@
+package com.eduplatform.progress.ingest;
+
+// An accepted heartbeat as written to the write-ahead log, with its timestamp already resolved,
+// so replaying the log rebuilds exactly the same positions
+public record ProgressUpdate(long lessonId, long courseId, int positionSeconds, int durationSeconds, long timestamp) {
+
+    static final int BYTES = Long.BYTES * 3 + Integer.BYTES * 2;
+}
@@ -0,0 +1,185 @@
+package com.eduplatform.progress.ingest;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+// Append-only log of accepted heartbeats, one segment per flush cycle. A segment can be deleted once
+// every position in it has reached Postgres; whatever segments exist at startup are replayed.
+// Record layout: length (int), CRC32C of the payload (int), payload = userId (long), count (int),
+// then count ProgressUpdates. A torn record at the end of a segment (crash mid-write) is skipped.
+@Slf4j
+@Component
+public class WriteAheadLog {
+
+    private static final String SEGMENT_PREFIX = "progress-";
+    private static final String SEGMENT_SUFFIX = ".wal";
+    private static final int HEADER_BYTES = Integer.BYTES * 2;
+
+    public interface RecordHandler {
+        void accept(long userId, ProgressUpdate update);
+    }
+
+    private final Path directory;
+    private final List<Path> recovered;
+    private long nextSequence;
+    private volatile Segment current;
+
+    public WriteAheadLog(@Value("${progress.wal.directory:./data/progress-wal}") Path directory) throws IOException {
+        this.directory = Files.createDirectories(directory);
+        this.recovered = listSegments();
+        this.nextSequence = recovered.isEmpty() ? 0 : sequenceOf(recovered.get(recovered.size() - 1)) + 1;
+        this.current = openSegment();
+    }
+
+    // Segments left over from the previous run, oldest first
+    public List<Path> recoveredSegments() {
+        return recovered;
+    }
+
+    // Thread-safe; callers must not append while rotate() runs (ProgressAggregator's swap lock ensures this)
+    public void append(long userId, List<ProgressUpdate> updates) throws IOException {
+        int payloadBytes = Long.BYTES + Integer.BYTES + updates.size() * ProgressUpdate.BYTES;
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + payloadBytes);
+        buffer.position(HEADER_BYTES);
+        buffer.putLong(userId).putInt(updates.size());
+        for (ProgressUpdate update : updates) {
+            buffer.putLong(update.lessonId())
+                    .putLong(update.courseId())
+                    .putInt(update.positionSeconds())
+                    .putInt(update.durationSeconds())
+                    .putLong(update.timestamp());
+        }
+
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.array(), HEADER_BYTES, payloadBytes);
+        buffer.putInt(0, payloadBytes).putInt(Integer.BYTES, (int) crc.getValue());
+        buffer.flip();
+
+        current.write(buffer);
+    }
+
+    // Starts a new segment and returns the finished one
+    public synchronized Path rotate() throws IOException {
+        Segment sealed = current;
+        current = openSegment();
+        sealed.close();
+        return sealed.path;
+    }
+
+    public void replay(Path segment, RecordHandler handler) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(segment));
+        while (buffer.remaining() >= HEADER_BYTES) {
+            int payloadBytes = buffer.getInt();
+            int checksum = buffer.getInt();
+            if (payloadBytes < Long.BYTES + Integer.BYTES || payloadBytes > buffer.remaining()) {
+                log.warn("Truncated record in {}, ignoring the rest of the segment", segment.getFileName());
+                return;
+            }
+            CRC32C crc = new CRC32C();
+            crc.update(buffer.array(), buffer.position(), payloadBytes);
+            if ((int) crc.getValue() != checksum) {
+                log.warn("Corrupt record in {}, ignoring the rest of the segment", segment.getFileName());
+                return;
+            }
+
+            long userId = buffer.getLong();
+            int count = buffer.getInt();
+            for (int i = 0; i < count; i++) {
+                handler.accept(userId, new ProgressUpdate(buffer.getLong(), buffer.getLong(),
+                        buffer.getInt(), buffer.getInt(), buffer.getLong()));
+            }
+        }
+    }
+
+    public void delete(Collection<Path> segments) {
+        for (Path segment : segments) {
+            try {
+                Files.deleteIfExists(segment);
+            } catch (IOException e) {
+                // Replaying it again later only re-applies positions that are already stored
+                log.warn("Failed to delete WAL segment {}: {}", segment.getFileName(), e.getMessage());
+            }
+        }
+    }
+
+    // Group commit: appends only reach the page cache, which survives a process crash; this bounds
+    // what a power loss can take to one sync interval without an fsync per request
+    @Scheduled(fixedDelayString = "${progress.wal.sync-interval:100}")
+    public void sync() {
+        try {
+            current.force();
+        } catch (IOException e) {
+            log.warn("WAL fsync failed: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public synchronized void close() throws IOException {
+        current.close();
+    }
+
+    private synchronized Segment openSegment() throws IOException {
+        Path path = directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, nextSequence++, SEGMENT_SUFFIX));
+        return new Segment(path, FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE));
+    }
+
+    private List<Path> listSegments() throws IOException {
+        List<Path> segments = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            stream.forEach(segments::add);
+        }
+        segments.sort(Comparator.comparingLong(WriteAheadLog::sequenceOf));
+        return segments;
+    }
+
+    private static long sequenceOf(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private static class Segment {
+        final Path path;
+        final FileChannel channel;
+
+        Segment(Path path, FileChannel channel) {
+            this.path = path;
+            this.channel = channel;
+        }
+
+        // One record per call, never interleaved with another thread's record
+        synchronized void write(ByteBuffer buffer) throws IOException {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+
+        void force() throws IOException {
+            if (channel.isOpen()) {
+                channel.force(false);
+            }
+        }
+
+        synchronized void close() throws IOException {
+            if (channel.isOpen()) {
+                channel.force(false);
+                channel.close();
+            }
+        }
+    }
+}
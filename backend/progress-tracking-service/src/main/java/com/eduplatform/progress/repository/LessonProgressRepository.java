@@ -0,0 +1,72 @@
+package com.eduplatform.progress.repository;
+
+import com.eduplatform.progress.dto.LessonProgress;
+import com.eduplatform.progress.ingest.LessonPosition;
+import com.eduplatform.progress.ingest.ProgressKey;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+@Repository
+@RequiredArgsConstructor
+public class LessonProgressRepository {
+
+    // The WHERE clause keeps an older position (replayed WAL segment, slow replica) from overwriting
+    // a newer one; completion is sticky either way
+    private static final String UPSERT_SQL =
+            "INSERT INTO lesson_progress (user_id, lesson_id, course_id, position_seconds, duration_seconds, completed, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?) " +
+            "ON CONFLICT (user_id, lesson_id) DO UPDATE SET course_id = EXCLUDED.course_id, " +
+            "position_seconds = EXCLUDED.position_seconds, duration_seconds = EXCLUDED.duration_seconds, " +
+            "completed = lesson_progress.completed OR EXCLUDED.completed, updated_at = EXCLUDED.updated_at " +
+            "WHERE lesson_progress.updated_at <= EXCLUDED.updated_at";
+
+    private static final String SELECT_COLUMNS =
+            "SELECT lesson_id, course_id, position_seconds, duration_seconds, completed, updated_at FROM lesson_progress ";
+
+    private static final RowMapper<LessonProgress> ROW_MAPPER = (rs, rowNum) -> new LessonProgress(
+            rs.getLong("lesson_id"),
+            rs.getLong("course_id"),
+            rs.getInt("position_seconds"),
+            rs.getInt("duration_seconds"),
+            rs.getBoolean("completed"),
+            rs.getTimestamp("updated_at").toInstant());
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${progress.upsert-batch-size:1000}")
+    private int batchSize;
+
+    // Entries must already be in key order (see ProgressKey)
+    public void upsertAll(List<Map.Entry<ProgressKey, LessonPosition>> entries) {
+        jdbcTemplate.batchUpdate(UPSERT_SQL, entries, batchSize, (ps, entry) -> {
+            ProgressKey key = entry.getKey();
+            LessonPosition position = entry.getValue();
+            ps.setLong(1, key.userId());
+            ps.setLong(2, key.lessonId());
+            ps.setLong(3, position.courseId());
+            ps.setInt(4, position.positionSeconds());
+            ps.setInt(5, position.durationSeconds());
+            ps.setBoolean(6, position.completed());
+            ps.setTimestamp(7, Timestamp.from(Instant.ofEpochMilli(position.updatedAt())));
+        });
+    }
+
+    public List<LessonProgress> findByUserAndCourse(long userId, long courseId) {
+        return jdbcTemplate.query(SELECT_COLUMNS + "WHERE user_id = ? AND course_id = ? ORDER BY lesson_id",
+                ROW_MAPPER, userId, courseId);
+    }
+
+    public Optional<LessonProgress> findByUserAndLesson(long userId, long lessonId) {
+        return jdbcTemplate.query(SELECT_COLUMNS + "WHERE user_id = ? AND lesson_id = ?",
+                ROW_MAPPER, userId, lessonId).stream().findFirst();
+    }
+}
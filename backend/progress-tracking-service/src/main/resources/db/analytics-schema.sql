@@ -0,0 +1,62 @@
+-- Course analytics: facts recorded once per learner (the ON CONFLICT DO NOTHING inserts decide
+-- what is new) and daily rollups incremented in the same transaction, which dashboards read.
+-- Safe to re-run on every start.
+
+-- Course attributes from the course-events topic; price is what an enrollment on that day earns
+CREATE TABLE IF NOT EXISTS analytics_courses (
+    course_id     BIGINT        PRIMARY KEY,
+    instructor_id BIGINT,
+    price         NUMERIC(10,2) NOT NULL DEFAULT 0,
+    updated_at    TIMESTAMP     NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_analytics_courses_instructor ON analytics_courses (instructor_id);
+
+-- A learner counts as enrolled from their first progress in the course
+CREATE TABLE IF NOT EXISTS course_enrollments (
+    user_id     BIGINT    NOT NULL,
+    course_id   BIGINT    NOT NULL,
+    enrolled_at TIMESTAMP NOT NULL,
+    PRIMARY KEY (user_id, course_id)
+);
+
+-- Facts of courses the analytics_courses mirror doesn't know yet are stored with attributed = FALSE
+-- and kept out of the rollups
+ALTER TABLE course_enrollments ADD COLUMN IF NOT EXISTS attributed BOOLEAN NOT NULL DEFAULT TRUE;
+
+CREATE TABLE IF NOT EXISTS lesson_completions (
+    user_id      BIGINT    NOT NULL,
+    lesson_id    BIGINT    NOT NULL,
+    course_id    BIGINT    NOT NULL,
+    completed_at TIMESTAMP NOT NULL,
+    PRIMARY KEY (user_id, lesson_id)
+);
+
+ALTER TABLE lesson_completions ADD COLUMN IF NOT EXISTS attributed BOOLEAN NOT NULL DEFAULT TRUE;
+
+-- Backs the per-course completion cap
+CREATE INDEX IF NOT EXISTS idx_lesson_completions_user_course ON lesson_completions (user_id, course_id);
+
+-- Keep the attribution sweep from scanning the fact tables
+CREATE INDEX IF NOT EXISTS idx_course_enrollments_unattributed ON course_enrollments (course_id) WHERE NOT attributed;
+CREATE INDEX IF NOT EXISTS idx_lesson_completions_unattributed ON lesson_completions (course_id) WHERE NOT attributed;
+
+-- One row per course and UTC day with activity; a year of dashboard is at most 366 index-ordered rows
+CREATE TABLE IF NOT EXISTS course_daily_stats (
+    course_id   BIGINT         NOT NULL,
+    day         DATE           NOT NULL,
+    enrollments INTEGER        NOT NULL DEFAULT 0,
+    completions INTEGER        NOT NULL DEFAULT 0,
+    revenue     NUMERIC(14,2)  NOT NULL DEFAULT 0,
+    PRIMARY KEY (course_id, day)
+);
+
+-- Attributed to the course's instructor at the time of the event
+CREATE TABLE IF NOT EXISTS instructor_daily_stats (
+    instructor_id BIGINT        NOT NULL,
+    day           DATE          NOT NULL,
+    enrollments   INTEGER       NOT NULL DEFAULT 0,
+    completions   INTEGER       NOT NULL DEFAULT 0,
+    revenue       NUMERIC(14,2) NOT NULL DEFAULT 0,
+    PRIMARY KEY (instructor_id, day)
+);
@@ -0,0 +1,15 @@
+-- Latest playback position per learner and lesson, upserted in batches by ProgressAggregator.
+-- Safe to re-run on every start.
+
+CREATE TABLE IF NOT EXISTS lesson_progress (
+    user_id          BIGINT    NOT NULL,
+    lesson_id        BIGINT    NOT NULL,
+    course_id        BIGINT    NOT NULL,
+    position_seconds INTEGER   NOT NULL,
+    duration_seconds INTEGER   NOT NULL,
+    completed        BOOLEAN   NOT NULL DEFAULT FALSE,
+    updated_at       TIMESTAMP NOT NULL,
+    PRIMARY KEY (user_id, lesson_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_lesson_progress_user_course ON lesson_progress (user_id, course_id);
@@ -2,12 +2,20 @@
 package com.eduplatform.user.controller;
 
 import com.eduplatform.user.dto.*;
+import com.eduplatform.user.service.PasswordHashingExecutor;
+import com.eduplatform.user.service.RefreshTokenService;
 import com.eduplatform.user.service.UserService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
 @RestController
 @RequestMapping("/api/auth")
 @RequiredArgsConstructor
@@ -15,30 +23,51 @@ import org.springframework.web.bind.annotation.*;
 public class AuthController {
 
     private final UserService userService;
+    private final PasswordHashingExecutor passwordHashingExecutor;
+    private final RefreshTokenService refreshTokenService;
 
     @PostMapping("/register")
-    public ResponseEntity<JwtResponse> registerUser(@Valid @RequestBody RegisterRequest request) {
-        try {
-            JwtResponse response = userService.registerUser(request);
-            return ResponseEntity.ok(response);
-        } catch (RuntimeException e) {
-            return ResponseEntity.badRequest().build();
-        }
+    public CompletableFuture<ResponseEntity<JwtResponse>> registerUser(@Valid @RequestBody RegisterRequest request) {
+        return hashingAsync(() -> userService.registerUser(request));
     }
 
     @PostMapping("/login")
-    public ResponseEntity<JwtResponse> loginUser(@Valid @RequestBody LoginRequest request) {
-        try {
-            JwtResponse response = userService.loginUser(request);
-            return ResponseEntity.ok(response);
-        } catch (RuntimeException e) {
-            return ResponseEntity.badRequest().build();
-        }
+    public CompletableFuture<ResponseEntity<JwtResponse>> loginUser(@Valid @RequestBody LoginRequest request) {
+        return hashingAsync(() -> userService.loginUser(request));
+    }
+
+    @PostMapping("/refresh")
+    public ResponseEntity<JwtResponse> refreshToken(@Valid @RequestBody RefreshTokenRequest request) {
+        return userService.refreshToken(request.getRefreshToken())
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.UNAUTHORIZED).build());
     }
 
+    // Revokes the session of the presented access and/or refresh token
     @PostMapping("/logout")
-    public ResponseEntity<?> logoutUser() {
-        // In a more complete implementation, you'd invalidate the token
+    public ResponseEntity<?> logoutUser(@RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization,
+                                        @RequestBody(required = false) RefreshTokenRequest request) {
+        String accessToken = authorization != null && authorization.startsWith("Bearer ") ? authorization.substring(7) : null;
+        userService.logoutUser(accessToken, request != null ? request.getRefreshToken() : null);
         return ResponseEntity.ok().build();
     }
+
+    // Sessions whose access tokens must be rejected until they expire; polled by the gateway
+    @GetMapping("/revocations")
+    public ResponseEntity<RevocationListResponse> getRevocations() {
+        return ResponseEntity.ok(new RevocationListResponse(refreshTokenService.getRevokedSessionIds()));
+    }
+
+    // Runs BCrypt-bound work on the hashing pool, releasing the request thread; 503 when the pool is saturated
+    private <T> CompletableFuture<ResponseEntity<T>> hashingAsync(Supplier<T> work) {
+        try {
+            return passwordHashingExecutor.submit(work)
+                    .thenApply(ResponseEntity::ok)
+                    .exceptionally(e -> ResponseEntity.badRequest().build());
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .build());
+        }
+    }
 }
\ No newline at end of file
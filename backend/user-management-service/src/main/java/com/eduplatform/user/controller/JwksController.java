@@ -0,0 +1,27 @@
+package com.eduplatform.user.controller;
+
+import com.eduplatform.user.util.EcSigningKey;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+// Public keys for verifying tokens issued by this service (fetched and cached by the gateway)
+@RestController
+@RequiredArgsConstructor
+public class JwksController {
+
+    private final EcSigningKey ecSigningKey;
+
+    @GetMapping("/.well-known/jwks.json")
+    public ResponseEntity<Map<String, List<Map<String, String>>>> getJwks() {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(Duration.ofMinutes(5)).cachePublic())
+                .body(Map.of("keys", List.of(ecSigningKey.toJwk())));
+    }
+}
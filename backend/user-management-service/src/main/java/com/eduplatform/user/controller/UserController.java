@@ -0,0 +1,26 @@
+package com.eduplatform.user.controller;
+
+import com.eduplatform.user.dto.UserBatchRequest;
+import com.eduplatform.user.dto.UserSummary;
+import com.eduplatform.user.service.UserService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/users")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*", maxAge = 3600)
+public class UserController {
+
+    private final UserService userService;
+
+    // Profiles for up to 1000 ids in one query; unknown ids are left out of the result
+    @PostMapping("/batch")
+    public ResponseEntity<List<UserSummary>> getUsersBatch(@Valid @RequestBody UserBatchRequest request) {
+        return ResponseEntity.ok(userService.getUserSummaries(request.getIds()));
+    }
+}
@@ -0,0 +1,12 @@
+package com.eduplatform.user.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class RevocationListResponse {
+    private List<String> sessionIds;
+}
@@ -0,0 +1,18 @@
+package com.eduplatform.user.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Public profile fields for cross-service enrichment, selected directly as a JPQL projection
+// (no roles collection, no contact details)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserSummary {
+    private Long id;
+    private String username;
+    private String firstName;
+    private String lastName;
+    private String profilePicture;
+}
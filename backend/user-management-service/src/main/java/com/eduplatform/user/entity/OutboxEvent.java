@@ -0,0 +1,43 @@
+package com.eduplatform.user.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+// Domain event written in the same transaction as the change it describes; OutboxRelay
+// publishes it to Kafka afterwards and deletes the row
+@Entity
+@Table(name = "user_outbox_events") // the services share a database, so each keeps its own outbox
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxEvent {
+
+    // Assigned by the database on insert, not from per-instance id blocks: OutboxRelay publishes in id
+    // order, and a later change to the same aggregate must never get a lower id from another replica
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String topic;
+
+    // Kafka record key, so every event of one aggregate lands on the same partition, in order
+    @Column(name = "aggregate_id", nullable = false)
+    private String aggregateId;
+
+    @Column(name = "event_type", nullable = false)
+    private String eventType;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @CreationTimestamp
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,59 @@
+package com.eduplatform.user.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+// One issued refresh token. Tokens of one login share a session id; each refresh replaces the
+// presented token, and presenting an already replaced token revokes the whole session.
+@Entity
+@Table(name = "refresh_tokens", indexes = {
+        @Index(name = "idx_refresh_tokens_session_id", columnList = "session_id"),
+        @Index(name = "idx_refresh_tokens_expires_at", columnList = "expires_at")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RefreshToken implements Persistable<String> {
+
+    // The token's jti
+    @Id
+    @Column(length = 36)
+    private String id;
+
+    @Column(name = "session_id", nullable = false, length = 36)
+    private String sessionId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Column(name = "replaced_by", length = 36)
+    private String replacedBy;
+
+    @Builder.Default
+    private Boolean revoked = false;
+
+    @CreationTimestamp
+    private LocalDateTime createdAt;
+
+    // Ids are assigned up front, so tell Spring Data a fresh token is new and save() inserts without a SELECT
+    @Transient
+    @Builder.Default
+    private boolean isNew = true;
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+}
@@ -0,0 +1,25 @@
+package com.eduplatform.user.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// A session whose access tokens must be rejected. Kept until the last access token the session
+// could have issued has expired; the gateway polls these into its in-memory denylist.
+@Entity
+@Table(name = "revoked_sessions", indexes = @Index(name = "idx_revoked_sessions_expires_at", columnList = "expires_at"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RevokedSession {
+
+    @Id
+    @Column(name = "session_id", length = 36)
+    private String sessionId;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+}
@@ -22,8 +22,13 @@ import java.util.Set;
 @AllArgsConstructor
 public class User {
 
+    // Ids are taken from users_seq in blocks of this size (pooled-lo), so inserts can be batched;
+    // db/user-ids.sql moves existing databases over from IDENTITY
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     @NotBlank
@@ -0,0 +1,23 @@
+package com.eduplatform.user.event;
+
+import com.eduplatform.user.entity.User;
+
+import java.time.Instant;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// Payload of the user-events topic (keyed by userId). Carries the public profile, so consumers
+// can keep their own copy instead of calling back into this service.
+public record UserEvent(String type, Long userId, String username, String firstName, String lastName,
+                        String profilePicture, Set<String> roles, Instant occurredAt) {
+
+    public static final String TOPIC = "user-events";
+    public static final String USER_REGISTERED = "UserRegistered";
+
+    public static UserEvent of(String type, User user) {
+        return new UserEvent(type, user.getId(), user.getUsername(), user.getFirstName(), user.getLastName(),
+                user.getProfilePicture(),
+                user.getRoles().stream().map(Enum::name).collect(Collectors.toSet()),
+                Instant.now());
+    }
+}
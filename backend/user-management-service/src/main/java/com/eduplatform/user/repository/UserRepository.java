@@ -1,16 +1,29 @@
 package com.eduplatform.user.repository;
 
+import com.eduplatform.user.dto.UserSummary;
 import com.eduplatform.user.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.Optional;
 import java.util.List;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
+
+    // User and roles in one round trip, for the login path
+    @Query("SELECT u FROM User u LEFT JOIN FETCH u.roles WHERE u.email = :email")
+    Optional<User> findByEmailWithRoles(@Param("email") String email);
+
+    // Batch lookup for other services: one query, only the columns the summary needs
+    @Query("SELECT new com.eduplatform.user.dto.UserSummary(u.id, u.username, u.firstName, u.lastName, u.profilePicture) " +
+           "FROM User u WHERE u.id IN :ids")
+    List<UserSummary> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
     Optional<User> findByUsername(String username);
     Boolean existsByEmail(String email);
     Boolean existsByUsername(String username);
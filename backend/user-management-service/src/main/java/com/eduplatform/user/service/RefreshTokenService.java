@@ -0,0 +1,127 @@
+package com.eduplatform.user.service;
+
+import com.eduplatform.user.entity.RefreshToken;
+import com.eduplatform.user.entity.RevokedSession;
+import com.eduplatform.user.entity.User;
+import com.eduplatform.user.repository.RefreshTokenRepository;
+import com.eduplatform.user.repository.RevokedSessionRepository;
+import com.eduplatform.user.util.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+// Refresh-token rotation with reuse detection. Every login starts a session; each refresh swaps the
+// presented token for a new one in the same session. A replaced token coming back means it leaked,
+// so the whole session is revoked and its access tokens are published to the gateway's denylist.
+@Slf4j
+@Timed(value = "user.service", histogram = true)
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class RefreshTokenService {
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final RevokedSessionRepository revokedSessionRepository;
+    private final JwtUtil jwtUtil;
+
+    public record IssuedTokens(String accessToken, String refreshToken, String refreshTokenId) {
+    }
+
+    public IssuedTokens startSession(User user) {
+        return issueTokens(user, UUID.randomUUID().toString());
+    }
+
+    public IssuedTokens issueTokens(User user, String sessionId) {
+        Set<String> roleNames = user.getRoles().stream()
+                .map(Enum::name)
+                .collect(Collectors.toSet());
+
+        String tokenId = UUID.randomUUID().toString();
+        Date expiry = jwtUtil.refreshTokenExpiry();
+
+        refreshTokenRepository.save(RefreshToken.builder()
+                .id(tokenId)
+                .sessionId(sessionId)
+                .userId(user.getId())
+                .expiresAt(LocalDateTime.ofInstant(expiry.toInstant(), ZoneId.systemDefault()))
+                .build());
+
+        String accessToken = jwtUtil.generateToken(user.getEmail(), user.getId(), roleNames, sessionId);
+        String refreshToken = jwtUtil.generateRefreshToken(user.getEmail(), tokenId, sessionId, expiry);
+        return new IssuedTokens(accessToken, refreshToken, tokenId);
+    }
+
+    // Returns the locked, still current token row, or empty if the token is invalid, revoked or reused.
+    // Doesn't throw for rejected tokens so a reuse revocation commits with the caller's transaction.
+    public Optional<RefreshToken> consume(String refreshToken) {
+        Optional<Claims> claims = parse(refreshToken);
+        if (claims.isEmpty() || claims.get().getId() == null
+                || !JwtUtil.REFRESH_TOKEN.equals(claims.get().get(JwtUtil.TOKEN_USE_CLAIM, String.class))) {
+            return Optional.empty();
+        }
+
+        Optional<RefreshToken> stored = refreshTokenRepository.findByIdForUpdate(claims.get().getId());
+        if (stored.isEmpty() || stored.get().getRevoked()) {
+            return Optional.empty();
+        }
+
+        RefreshToken current = stored.get();
+        if (current.getReplacedBy() != null) {
+            log.warn("Refresh token reuse detected for user {}, revoking session {}", current.getUserId(), current.getSessionId());
+            revokeSession(current.getSessionId());
+            return Optional.empty();
+        }
+        return stored;
+    }
+
+    // Revokes the session an access or refresh token belongs to; unparseable or expired tokens are ignored
+    public void revokeSessionOf(String token) {
+        parse(token)
+                .map(claims -> claims.get(JwtUtil.SESSION_ID_CLAIM, String.class))
+                .ifPresent(this::revokeSession);
+    }
+
+    public void revokeSession(String sessionId) {
+        refreshTokenRepository.revokeSession(sessionId);
+        // Any access token of the session has expired by then, so the denylist entry can go too
+        LocalDateTime expiresAt = LocalDateTime.now().plusNanos(jwtUtil.getAccessTokenExpiration() * 1_000_000L);
+        revokedSessionRepository.save(new RevokedSession(sessionId, expiresAt));
+    }
+
+    @Transactional(readOnly = true)
+    public List<String> getRevokedSessionIds() {
+        return revokedSessionRepository.findActiveSessionIds(LocalDateTime.now());
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.revocation-cleanup-interval:3600000}")
+    public void deleteExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        int tokens = refreshTokenRepository.deleteExpired(now);
+        int sessions = revokedSessionRepository.deleteExpired(now);
+        if (tokens > 0 || sessions > 0) {
+            log.debug("Deleted {} expired refresh tokens and {} expired session revocations", tokens, sessions);
+        }
+    }
+
+    private Optional<Claims> parse(String token) {
+        try {
+            return Optional.of(jwtUtil.parseClaims(token));
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+}
@@ -2,8 +2,10 @@ package com.eduplatform.user.service;
 
 import com.eduplatform.user.dto.*;
 import com.eduplatform.user.entity.User;
+import com.eduplatform.user.event.UserEvent;
+import com.eduplatform.user.outbox.OutboxWriter;
 import com.eduplatform.user.repository.UserRepository;
-import com.eduplatform.user.util.JwtUtil;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -12,10 +14,13 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
-import java.util.stream.Collectors;
 
+@Timed(value = "user.service", histogram = true)
 @Service
 @RequiredArgsConstructor
 @Transactional
@@ -24,7 +29,8 @@ public class UserService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final AuthenticationManager authenticationManager;
-    private final JwtUtil jwtUtil;
+    private final RefreshTokenService refreshTokenService;
+    private final OutboxWriter outboxWriter;
 
     public JwtResponse registerUser(RegisterRequest request) {
         // Check if user already exists
@@ -48,16 +54,10 @@ public class UserService {
                 .build();
 
         User savedUser = userRepository.save(user);
+        outboxWriter.append(UserEvent.TOPIC, savedUser.getId(), UserEvent.USER_REGISTERED, UserEvent.of(UserEvent.USER_REGISTERED, savedUser));
 
-        // Generate tokens
-        Set<String> roleNames = savedUser.getRoles().stream()
-                .map(Enum::name)
-                .collect(Collectors.toSet());
-
-        String accessToken = jwtUtil.generateToken(savedUser.getEmail(), savedUser.getId(), roleNames);
-        String refreshToken = jwtUtil.generateRefreshToken(savedUser.getEmail());
-
-        return new JwtResponse(accessToken, refreshToken, mapToUserResponse(savedUser));
+        RefreshTokenService.IssuedTokens tokens = refreshTokenService.startSession(savedUser);
+        return new JwtResponse(tokens.accessToken(), tokens.refreshToken(), mapToUserResponse(savedUser));
     }
 
     public JwtResponse loginUser(LoginRequest request) {
@@ -65,17 +65,31 @@ public class UserService {
                 new UsernamePasswordAuthenticationToken(request.getEmail(), request.getPassword())
         );
 
-        User user = userRepository.findByEmail(request.getEmail())
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        // The principal already carries the user and roles loaded during authentication
+        User user = ((UserPrincipal) authentication.getPrincipal()).getUser();
 
-        Set<String> roleNames = user.getRoles().stream()
-                .map(Enum::name)
-                .collect(Collectors.toSet());
+        RefreshTokenService.IssuedTokens tokens = refreshTokenService.startSession(user);
+        return new JwtResponse(tokens.accessToken(), tokens.refreshToken(), mapToUserResponse(user));
+    }
 
-        String accessToken = jwtUtil.generateToken(user.getEmail(), user.getId(), roleNames);
-        String refreshToken = jwtUtil.generateRefreshToken(user.getEmail());
+    // Rotates the refresh token; empty when it is invalid, revoked, reused or its user was deactivated
+    public Optional<JwtResponse> refreshToken(String refreshToken) {
+        return refreshTokenService.consume(refreshToken).flatMap(current -> userRepository.findById(current.getUserId())
+                .filter(User::getIsActive)
+                .map(user -> {
+                    RefreshTokenService.IssuedTokens tokens = refreshTokenService.issueTokens(user, current.getSessionId());
+                    current.setReplacedBy(tokens.refreshTokenId());
+                    return new JwtResponse(tokens.accessToken(), tokens.refreshToken(), mapToUserResponse(user));
+                }));
+    }
 
-        return new JwtResponse(accessToken, refreshToken, mapToUserResponse(user));
+    public void logoutUser(String accessToken, String refreshToken) {
+        if (accessToken != null) {
+            refreshTokenService.revokeSessionOf(accessToken);
+        }
+        if (refreshToken != null) {
+            refreshTokenService.revokeSessionOf(refreshToken);
+        }
     }
 
     public Optional<User> findByEmail(String email) {
@@ -86,6 +100,11 @@ public class UserService {
         return userRepository.findById(id);
     }
 
+    @Transactional(readOnly = true)
+    public List<UserSummary> getUserSummaries(Collection<Long> ids) {
+        return userRepository.findSummariesByIdIn(new HashSet<>(ids));
+    }
+
     private UserResponse mapToUserResponse(User user) {
         UserResponse response = new UserResponse();
         response.setId(user.getId());
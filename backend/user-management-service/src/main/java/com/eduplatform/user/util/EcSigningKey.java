@@ -0,0 +1,112 @@
+package com.eduplatform.user.util;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.MessageDigest;
+import java.security.interfaces.ECPrivateKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// ES256 (P-256) key pair used to sign access and refresh tokens. Only the public half leaves the
+// service, through the JWKS endpoint, so verifiers never hold a signing secret.
+@Slf4j
+@Component
+public class EcSigningKey {
+
+    private final ECPrivateKey privateKey;
+    private final ECPublicKey publicKey;
+    private final String keyId;
+
+    public EcSigningKey(@Value("${jwt.ec.private-key:}") String privateKeyPath,
+                        @Value("${jwt.ec.public-key:}") String publicKeyPath,
+                        @Value("${jwt.signing-algorithm:ES256}") String signingAlgorithm) throws IOException, GeneralSecurityException {
+        KeyFactory keyFactory = KeyFactory.getInstance("EC");
+
+        if (privateKeyPath.isBlank() || publicKeyPath.isBlank()) {
+            // A generated pair would differ per replica and per restart, invalidating every issued token
+            if ("ES256".equalsIgnoreCase(signingAlgorithm)) {
+                throw new IllegalStateException("jwt.signing-algorithm is ES256 but jwt.ec.private-key/public-key are not set; "
+                        + "create them with scripts/utils/generate-jwt-keys-mac.sh or set JWT_SIGNING_ALGORITHM=HS256");
+            }
+            // Nothing is signed with it under HS256; it only keeps the JWKS endpoint answering
+            log.info("jwt.ec.private-key/public-key not set, serving an unused ephemeral ES256 key");
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+            generator.initialize(new ECGenParameterSpec("secp256r1"));
+            KeyPair keyPair = generator.generateKeyPair();
+            this.privateKey = (ECPrivateKey) keyPair.getPrivate();
+            this.publicKey = (ECPublicKey) keyPair.getPublic();
+        } else {
+            this.privateKey = (ECPrivateKey) keyFactory.generatePrivate(new PKCS8EncodedKeySpec(readPem(privateKeyPath)));
+            this.publicKey = (ECPublicKey) keyFactory.generatePublic(new X509EncodedKeySpec(readPem(publicKeyPath)));
+        }
+
+        this.keyId = thumbprint();
+    }
+
+    public ECPrivateKey privateKey() {
+        return privateKey;
+    }
+
+    public ECPublicKey publicKey() {
+        return publicKey;
+    }
+
+    public String keyId() {
+        return keyId;
+    }
+
+    // Public key as a JWK (RFC 7517) for the JWKS endpoint
+    public Map<String, String> toJwk() {
+        Map<String, String> jwk = new LinkedHashMap<>();
+        jwk.put("kty", "EC");
+        jwk.put("crv", "P-256");
+        jwk.put("kid", keyId);
+        jwk.put("use", "sig");
+        jwk.put("alg", "ES256");
+        jwk.put("x", coordinate(publicKey.getW().getAffineX()));
+        jwk.put("y", coordinate(publicKey.getW().getAffineY()));
+        return jwk;
+    }
+
+    // RFC 7638 thumbprint: the same key pair yields the same kid on every replica
+    private String thumbprint() throws GeneralSecurityException {
+        String canonical = String.format("{\"crv\":\"P-256\",\"kty\":\"EC\",\"x\":\"%s\",\"y\":\"%s\"}",
+                coordinate(publicKey.getW().getAffineX()), coordinate(publicKey.getW().getAffineY()));
+        byte[] hash = MessageDigest.getInstance("SHA-256").digest(canonical.getBytes(StandardCharsets.UTF_8));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+    }
+
+    // Unsigned big-endian, left-padded to the 32-byte P-256 field size
+    private static String coordinate(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        byte[] padded = new byte[32];
+        int length = Math.min(bytes.length, 32);
+        System.arraycopy(bytes, bytes.length - length, padded, 32 - length, length);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(padded);
+    }
+
+    private static byte[] readPem(String path) throws IOException {
+        String pem = Files.readString(Path.of(path), StandardCharsets.US_ASCII);
+        String base64 = Arrays.stream(pem.split("\\R"))
+                .filter(line -> !line.startsWith("-----"))
+                .reduce("", String::concat);
+        return Base64.getMimeDecoder().decode(base64);
+    }
+}
@@ -0,0 +1,127 @@
+package com.eduplatform.user.util;
+
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.SecretKey;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+
+// HMAC signing keys by key id (the JWT "kid" header). Tokens are signed with the active key and
+// verified with whichever key their kid names, so a new key can be activated while tokens signed
+// with the previous one stay valid. Keys from jwt.keys are fixed at startup; keys in jwt.key-file
+// are re-read when the file changes, so secrets can be rotated without a restart.
+//
+// Key file format (java.util.Properties):
+//   active-key-id=2026-10
+//   keys.2026-10=<secret>
+//   keys.2026-07=<previous secret, kept until its tokens expire>
+@Slf4j
+@Component
+public class JwtKeyRing {
+
+    // Key id assumed for tokens issued before kid headers were introduced (signed with jwt.secret)
+    public static final String LEGACY_KEY_ID = "default";
+
+    private final Map<String, String> configuredSecrets = new LinkedHashMap<>();
+    private final String configuredActiveKeyId;
+    private final Path keyFile;
+
+    private volatile KeySet keySet;
+    private volatile long keyFileModified = -1;
+
+    public JwtKeyRing(Environment environment,
+                      @Value("${jwt.secret:}") String legacySecret,
+                      @Value("${jwt.active-key-id:" + LEGACY_KEY_ID + "}") String activeKeyId,
+                      @Value("${jwt.key-file:}") String keyFile) {
+        if (!legacySecret.isBlank()) {
+            configuredSecrets.put(LEGACY_KEY_ID, legacySecret);
+        }
+        configuredSecrets.putAll(Binder.get(environment)
+                .bind("jwt.keys", Bindable.mapOf(String.class, String.class))
+                .orElse(Map.of()));
+        this.configuredActiveKeyId = activeKeyId;
+        this.keyFile = keyFile.isBlank() ? null : Path.of(keyFile);
+
+        this.keySet = load();
+    }
+
+    // Id and key come from a single read of the key set, so a concurrent reload can't pair them up
+    // wrongly; null when no HMAC key is configured
+    public JwtSigningKey activeSigningKey() {
+        KeySet current = keySet;
+        SecretKey key = current.keys().get(current.activeKeyId());
+        return key != null ? new JwtSigningKey(current.activeKeyId(), key) : null;
+    }
+
+    public SecretKey resolve(String keyId) {
+        SecretKey key = keySet.keys().get(keyId != null ? keyId : LEGACY_KEY_ID);
+        if (key == null) {
+            throw new SignatureException("Unknown signing key: " + keyId);
+        }
+        return key;
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.key-reload-interval:60000}")
+    public void reloadIfChanged() {
+        if (keyFile == null) {
+            return;
+        }
+        try {
+            long modified = Files.getLastModifiedTime(keyFile).toMillis();
+            if (modified != keyFileModified) {
+                keySet = load();
+                log.info("Reloaded JWT signing keys from {}, active key: {}", keyFile, keySet.activeKeyId());
+            }
+        } catch (IOException | RuntimeException e) {
+            // Keep signing with the last good key set
+            log.error("Failed to reload JWT signing keys from {}: {}", keyFile, e.getMessage());
+        }
+    }
+
+    private KeySet load() {
+        Map<String, String> secrets = new LinkedHashMap<>(configuredSecrets);
+        String activeKeyId = configuredActiveKeyId;
+
+        if (keyFile != null) {
+            Properties properties = new Properties();
+            try (Reader reader = Files.newBufferedReader(keyFile, StandardCharsets.UTF_8)) {
+                keyFileModified = Files.getLastModifiedTime(keyFile).toMillis();
+                properties.load(reader);
+            } catch (IOException e) {
+                throw new IllegalStateException("Cannot read JWT key file " + keyFile, e);
+            }
+            for (String name : properties.stringPropertyNames()) {
+                if (name.startsWith("keys.")) {
+                    secrets.put(name.substring("keys.".length()), properties.getProperty(name));
+                }
+            }
+            activeKeyId = properties.getProperty("active-key-id", activeKeyId);
+        }
+
+        Map<String, SecretKey> keys = new LinkedHashMap<>();
+        secrets.forEach((keyId, secret) -> keys.put(keyId, Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8))));
+
+        // No keys at all is fine under ES256; JwtUtil refuses to start if HS256 needs one
+        if (!keys.isEmpty() && !keys.containsKey(activeKeyId)) {
+            throw new IllegalStateException("Active JWT key id has no secret: " + activeKeyId);
+        }
+        return new KeySet(activeKeyId, Map.copyOf(keys));
+    }
+
+    private record KeySet(String activeKeyId, Map<String, SecretKey> keys) {
+    }
+}
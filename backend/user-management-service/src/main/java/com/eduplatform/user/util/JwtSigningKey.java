@@ -0,0 +1,8 @@
+package com.eduplatform.user.util;
+
+import java.security.Key;
+
+// A signing key together with the kid it is published under, taken as one value so a token's
+// kid header always names the key that actually signed it
+public record JwtSigningKey(String keyId, Key key) {
+}
@@ -1,20 +1,35 @@
 package com.eduplatform.user.util;
 
 import io.jsonwebtoken.*;
-import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import javax.crypto.SecretKey;
-import java.nio.charset.StandardCharsets;
+import java.security.Key;
 import java.util.Date;
 import java.util.Set;
+import java.util.UUID;
 
 @Component
 public class JwtUtil {
 
-    @Value("${jwt.secret}")
-    private String jwtSecret;
+    public static final String SESSION_ID_CLAIM = "sid";
+    // Both token kinds share the signing key, so this is what keeps refresh tokens off the API
+    public static final String TOKEN_USE_CLAIM = "token_use";
+    public static final String ACCESS_TOKEN = "access";
+    public static final String REFRESH_TOKEN = "refresh";
+
+    private final JwtKeyRing keyRing;
+    private final JwtSigningKey ecKey;
+    private final boolean signWithEc;
+
+    // Built once: JwtParser is immutable and thread-safe, and resolves the key per token from its kid
+    private final JwtParser jwtParser;
+
+    private final Timer signTimer;
+    private final Timer verifyTimer;
 
     @Value("${jwt.expiration}")
     private int jwtExpiration;
@@ -22,52 +37,111 @@ public class JwtUtil {
     @Value("${jwt.refresh-expiration:604800000}") // 7 days
     private int refreshTokenExpiration;
 
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+    // ES256 publishes only a public key (see JwksController); HS256 signs with the shared key ring.
+    // HMAC tokens are verified either way, so tokens issued before a switch stay valid until they expire.
+    public JwtUtil(JwtKeyRing keyRing,
+                   EcSigningKey ecSigningKey,
+                   @Value("${jwt.signing-algorithm:ES256}") String signingAlgorithm,
+                   MeterRegistry meterRegistry) {
+        this.keyRing = keyRing;
+        this.ecKey = new JwtSigningKey(ecSigningKey.keyId(), ecSigningKey.privateKey());
+        this.signWithEc = SignatureAlgorithm.forName(signingAlgorithm) == SignatureAlgorithm.ES256;
+        if (!signWithEc && keyRing.activeSigningKey() == null) {
+            throw new IllegalStateException("jwt.signing-algorithm is HS256 but no HMAC key is configured; set JWT_SECRET or jwt.keys");
+        }
+        this.signTimer = Timer.builder("security.jwt.sign")
+                .description("Time spent building and signing a token")
+                .tag("algorithm", signWithEc ? "ES256" : "HS256")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.verifyTimer = Timer.builder("security.jwt.verify")
+                .description("Time spent parsing and verifying a token")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.jwtParser = Jwts.parserBuilder()
+                .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                    @Override
+                    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                        if (SignatureAlgorithm.ES256.getValue().equals(header.getAlgorithm())) {
+                            if (!ecSigningKey.keyId().equals(header.getKeyId())) {
+                                throw new SignatureException("Unknown signing key: " + header.getKeyId());
+                            }
+                            return ecSigningKey.publicKey();
+                        }
+                        return keyRing.resolve(header.getKeyId());
+                    }
+                })
+                .build();
     }
 
-    public String generateToken(String email, Long userId, Set<String> roles) {
+    // Access tokens carry their own jti and the session (refresh token family) they were issued under,
+    // which is what logout and refresh-token reuse revoke
+    public String generateToken(String email, Long userId, Set<String> roles, String sessionId) {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + jwtExpiration);
 
-        return Jwts.builder()
-                .setSubject(userId.toString())
-                .claim("email", email)
-                .claim("roles", roles)
-                .setIssuedAt(now)
-                .setExpiration(expiryDate)
-                .signWith(getSigningKey())
-                .compact();
+        return signTimer.record(() -> {
+            JwtSigningKey signingKey = signingKey();
+            return Jwts.builder()
+                    .setHeaderParam(JwsHeader.KEY_ID, signingKey.keyId())
+                    .setId(UUID.randomUUID().toString())
+                    .setSubject(userId.toString())
+                    .claim("email", email)
+                    .claim("roles", roles)
+                    .claim(SESSION_ID_CLAIM, sessionId)
+                    .claim(TOKEN_USE_CLAIM, ACCESS_TOKEN)
+                    .setIssuedAt(now)
+                    .setExpiration(expiryDate)
+                    .signWith(signingKey.key())
+                    .compact();
+        });
     }
 
-    public String generateRefreshToken(String email) {
-        Date now = new Date();
-        Date expiryDate = new Date(now.getTime() + refreshTokenExpiration);
-
-        return Jwts.builder()
-                .setSubject(email)
-                .setIssuedAt(now)
-                .setExpiration(expiryDate)
-                .signWith(getSigningKey())
-                .compact();
+    public String generateRefreshToken(String email, String tokenId, String sessionId, Date expiryDate) {
+        return signTimer.record(() -> {
+            JwtSigningKey signingKey = signingKey();
+            return Jwts.builder()
+                    .setHeaderParam(JwsHeader.KEY_ID, signingKey.keyId())
+                    .setId(tokenId)
+                    .setSubject(email)
+                    .claim(SESSION_ID_CLAIM, sessionId)
+                    .claim(TOKEN_USE_CLAIM, REFRESH_TOKEN)
+                    .setIssuedAt(new Date())
+                    .setExpiration(expiryDate)
+                    .signWith(signingKey.key())
+                    .compact();
+        });
+    }
+
+    public Date refreshTokenExpiry() {
+        return new Date(System.currentTimeMillis() + refreshTokenExpiration);
+    }
+
+    public long getAccessTokenExpiration() {
+        return jwtExpiration;
+    }
+
+    private JwtSigningKey signingKey() {
+        return signWithEc ? ecKey : keyRing.activeSigningKey();
+    }
+
+    // Throws JwtException if the token is malformed, expired or not signed by a known key
+    public Claims parseClaims(String token) {
+        return verifyTimer.record(() -> jwtParser.parseClaimsJws(token).getBody());
     }
 
     public String getEmailFromToken(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        Claims claims = parseClaims(token);
 
         return claims.getSubject();
     }
 
     public boolean validateToken(String token) {
         try {
-            Jwts.parserBuilder().setSigningKey(getSigningKey()).build().parseClaimsJws(token);
+            parseClaims(token);
             return true;
         } catch (JwtException | IllegalArgumentException e) {
             return false;
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,24 @@
+-- Moves tables created with IDENTITY ids onto the pooled-lo sequences the entities now use.
+-- Runs after Hibernate has updated the schema (spring.jpa.defer-datasource-initialization) and is
+-- safe to re-run on every start: existing ids are kept and each sequence only ever moves forward.
+
+CREATE SEQUENCE IF NOT EXISTS users_seq START WITH 1 INCREMENT BY 50;
+
+-- Ids are assigned by Hibernate now; a leftover column default would hand out colliding ids
+ALTER TABLE users ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE users ALTER COLUMN id DROP DEFAULT;
+
+-- The next block handed out starts above every existing id (a running instance's current block
+-- is below last_value + 50, so it can't be handed out twice)
+SELECT setval('users_seq', m) FROM (SELECT MAX(id) AS m FROM users) t
+WHERE m >= (SELECT last_value FROM users_seq);
+
+-- Outbox ids stay database-assigned, one at a time, so their order follows the order changes to an
+-- aggregate commit in (see OutboxEvent). Whether Hibernate created the column as IDENTITY or an
+-- earlier version moved it onto a 50-id block sequence, it ends up with a per-row sequence default.
+ALTER TABLE user_outbox_events ALTER COLUMN id DROP IDENTITY IF EXISTS;
+CREATE SEQUENCE IF NOT EXISTS user_outbox_events_seq;
+ALTER SEQUENCE user_outbox_events_seq INCREMENT BY 1;
+SELECT setval('user_outbox_events_seq', m) FROM (SELECT MAX(id) AS m FROM user_outbox_events) t
+WHERE m >= (SELECT last_value FROM user_outbox_events_seq);
+ALTER TABLE user_outbox_events ALTER COLUMN id SET DEFAULT nextval('user_outbox_events_seq');
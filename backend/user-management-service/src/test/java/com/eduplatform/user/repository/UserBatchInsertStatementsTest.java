@@ -0,0 +1,67 @@
+package com.eduplatform.user.repository;
+
+import com.eduplatform.user.entity.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Guards the round trips of a bulk insert: with pooled-lo ids and JDBC batching, each block of
+// ID_ALLOCATION_SIZE users costs one sequence call, one users batch and one user_roles batch.
+// IDENTITY ids needed an INSERT per user and another per role.
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+class UserBatchInsertStatementsTest {
+
+    private static final int USERS = 10 * User.ID_ALLOCATION_SIZE;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void clearStatistics() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void bulkInsertBatchesRowsAndSequenceCalls() {
+        List<User> users = IntStream.range(0, USERS)
+                .mapToObj(i -> User.builder()
+                        .username("bulk" + i)
+                        .email("bulk" + i + "@example.com")
+                        .password("not-a-real-hash")
+                        .firstName("Bulk")
+                        .lastName("User " + i)
+                        .roles(Set.of(User.Role.STUDENT))
+                        .build())
+                .toList();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> userRepository.saveAll(users));
+
+        int blocks = USERS / User.ID_ALLOCATION_SIZE;
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(USERS);
+        // One more sequence call is allowed for a block left part-used by another test in this context
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(3L * blocks + 1);
+    }
+}
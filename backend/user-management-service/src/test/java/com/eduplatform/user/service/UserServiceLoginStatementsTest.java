@@ -0,0 +1,67 @@
+package com.eduplatform.user.service;
+
+import com.eduplatform.user.dto.JwtResponse;
+import com.eduplatform.user.dto.LoginRequest;
+import com.eduplatform.user.dto.RegisterRequest;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Guards the login path's round trips: one SELECT for the user and its roles, one INSERT for the
+// session's refresh token, and nothing else
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "security.password.bcrypt-strength=4"
+})
+@ActiveProfiles("test")
+class UserServiceLoginStatementsTest {
+
+    private static final String EMAIL = "instructor@example.com";
+    private static final String PASSWORD = "correct-horse";
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void registerUser() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        if (userService.findByEmail(EMAIL).isEmpty()) {
+            RegisterRequest request = new RegisterRequest();
+            request.setUsername("instructor");
+            request.setEmail(EMAIL);
+            request.setPassword(PASSWORD);
+            request.setFirstName("Ada");
+            request.setLastName("Lovelace");
+            userService.registerUser(request);
+        }
+        statistics.clear();
+    }
+
+    @Test
+    void loginIssuesOneSelectAndOneInsert() {
+        LoginRequest request = new LoginRequest();
+        request.setEmail(EMAIL);
+        request.setPassword(PASSWORD);
+
+        JwtResponse response = userService.loginUser(request);
+
+        assertThat(response.getToken()).isNotBlank();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getQueryExecutionCount()).isEqualTo(1);
+        assertThat(statistics.getCollectionFetchCount()).isZero();
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(1);
+        assertThat(statistics.getEntityUpdateCount()).isZero();
+    }
+}
@@ -0,0 +1,96 @@
+package com.eduplatform.user.util;
+
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.spec.ECGenParameterSpec;
+import java.util.Base64;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+// What moving from the shared HMAC secret to ES256 costs per token: sign and verify through JwtUtil
+// with either algorithm. Verify is the side that matters, since every gateway replica does it.
+// Run with scripts/perf/jmh-benchmark-mac.sh user-management-service JwtSignatureBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class JwtSignatureBenchmark {
+
+    private static final String SECRET = "mySecretKey1234567890123456789012345678901234567890";
+
+    @Param({"HS256", "ES256"})
+    String algorithm;
+
+    private Path keyDir;
+    private JwtUtil jwtUtil;
+    private String token;
+
+    @Setup
+    public void setUp() throws Exception {
+        // EcSigningKey only reads PEM files, as provisioned by scripts/utils/generate-jwt-keys-mac.sh
+        keyDir = Files.createTempDirectory("jwt-benchmark");
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+        generator.initialize(new ECGenParameterSpec("secp256r1"));
+        KeyPair keyPair = generator.generateKeyPair();
+        Path privateKey = writePem(keyDir.resolve("ec-private.pem"), "PRIVATE KEY", keyPair.getPrivate().getEncoded());
+        Path publicKey = writePem(keyDir.resolve("ec-public.pem"), "PUBLIC KEY", keyPair.getPublic().getEncoded());
+
+        JwtKeyRing keyRing = new JwtKeyRing(new MockEnvironment(), SECRET, JwtKeyRing.LEGACY_KEY_ID, "");
+        EcSigningKey ecSigningKey = new EcSigningKey(privateKey.toString(), publicKey.toString(), algorithm);
+        jwtUtil = new JwtUtil(keyRing, ecSigningKey, algorithm, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(jwtUtil, "jwtExpiration", 900000);
+
+        token = sign();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        try (var files = Files.list(keyDir)) {
+            for (Path file : files.toList()) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(keyDir);
+    }
+
+    @Benchmark
+    public String sign() {
+        return jwtUtil.generateToken("learner@example.com", 42L, Set.of("STUDENT"), "session-1");
+    }
+
+    @Benchmark
+    public Claims verify() {
+        return jwtUtil.parseClaims(token);
+    }
+
+    private static Path writePem(Path path, String type, byte[] der) throws IOException {
+        String pem = "-----BEGIN " + type + "-----\n"
+                + Base64.getMimeEncoder(64, "\n".getBytes()).encodeToString(der)
+                + "\n-----END " + type + "-----\n";
+        return Files.writeString(path, pem);
+    }
+}
@@ -0,0 +1,95 @@
+package com.eduplatform.user.util;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+// HS256 issue and verify throughput: JwtUtil, with its key ring and parser built once, against what
+// it did before, i.e. Keys.hmacShaKeyFor over the secret on every call and a new parser per token.
+// Run with scripts/perf/jmh-benchmark-mac.sh user-management-service JwtTokenBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class JwtTokenBenchmark {
+
+    private static final String SECRET = "mySecretKey1234567890123456789012345678901234567890";
+    private static final Set<String> ROLES = Set.of("STUDENT");
+    private static final long EXPIRATION = 900000;
+
+    private JwtUtil jwtUtil;
+    private String cachedToken;
+    private String uncachedToken;
+
+    @Setup
+    public void setUp() throws Exception {
+        JwtKeyRing keyRing = new JwtKeyRing(new MockEnvironment(), SECRET, JwtKeyRing.LEGACY_KEY_ID, "");
+        EcSigningKey ecSigningKey = new EcSigningKey("", "", "HS256");
+        jwtUtil = new JwtUtil(keyRing, ecSigningKey, "HS256", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(jwtUtil, "jwtExpiration", (int) EXPIRATION);
+
+        cachedToken = issueCached();
+        uncachedToken = issueUncached();
+    }
+
+    @Benchmark
+    public String issueCached() {
+        return jwtUtil.generateToken("learner@example.com", 42L, ROLES, "session-1");
+    }
+
+    @Benchmark
+    public String issueUncached() {
+        Date now = new Date();
+        return Jwts.builder()
+                .setSubject("42")
+                .claim("email", "learner@example.com")
+                .claim("roles", ROLES)
+                .claim(JwtUtil.SESSION_ID_CLAIM, "session-1")
+                .claim(JwtUtil.TOKEN_USE_CLAIM, JwtUtil.ACCESS_TOKEN)
+                .setIssuedAt(now)
+                .setExpiration(new Date(now.getTime() + EXPIRATION))
+                .signWith(signingKey())
+                .compact();
+    }
+
+    @Benchmark
+    public Claims verifyCached() {
+        return jwtUtil.parseClaims(cachedToken);
+    }
+
+    @Benchmark
+    public Claims verifyUncached() {
+        return Jwts.parserBuilder()
+                .setSigningKey(signingKey())
+                .build()
+                .parseClaimsJws(uncachedToken)
+                .getBody();
+    }
+
+    private static SecretKey signingKey() {
+        return Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -1,11 +1,12 @@
 // frontend/src/services/api.ts - Fixed with proper imports
-import axios, { AxiosInstance, AxiosResponse } from 'axios';
-import { LoginRequest, RegisterRequest, AuthResponse, User, Course } from '../types';
+import axios, { AxiosError, AxiosInstance, AxiosResponse, InternalAxiosRequestConfig } from 'axios';
+import { LoginRequest, RegisterRequest, AuthResponse, User, Course, CourseDetail, CoursePage, CourseQuery } from '../types';
 
 const API_BASE_URL = process.env.REACT_APP_API_URL || 'http://localhost:8090';
 
 class ApiService {
     private api: AxiosInstance;
+    private refreshing: Promise<string> | null = null;
 
     constructor() {
         this.api = axios.create({
@@ -27,10 +28,25 @@ class ApiService {
             (error) => Promise.reject(error)
         );
 
-        // Response interceptor to handle token expiration
+        // Response interceptor to handle token expiration: renew once with the refresh token and retry
         this.api.interceptors.response.use(
             (response) => response,
-            (error) => {
+            async (error: AxiosError) => {
+                const original = error.config as (InternalAxiosRequestConfig & { _retried?: boolean }) | undefined;
+                const refreshToken = localStorage.getItem('refreshToken');
+
+                if (error.response?.status === 401 && original && !original._retried
+                    && refreshToken && !original.url?.startsWith('/api/auth/')) {
+                    original._retried = true;
+                    try {
+                        const token = await this.refreshAccessToken(refreshToken);
+                        original.headers.Authorization = `Bearer ${token}`;
+                        return this.api(original);
+                    } catch {
+                        // Fall through to a fresh login
+                    }
+                }
+
                 if (error.response?.status === 401) {
                     localStorage.removeItem('token');
                     localStorage.removeItem('refreshToken');
@@ -42,6 +58,22 @@ class ApiService {
         );
     }
 
+    // Concurrent 401s share one refresh: refresh tokens rotate, and presenting a used one revokes the session
+    private refreshAccessToken(refreshToken: string): Promise<string> {
+        if (!this.refreshing) {
+            this.refreshing = axios.post<AuthResponse>(`${API_BASE_URL}/api/auth/refresh`, { refreshToken })
+                .then(({ data }) => {
+                    localStorage.setItem('token', data.token);
+                    localStorage.setItem('refreshToken', data.refreshToken);
+                    return data.token;
+                })
+                .finally(() => {
+                    this.refreshing = null;
+                });
+        }
+        return this.refreshing;
+    }
+
     // Auth endpoints
     login = (credentials: LoginRequest): Promise<AxiosResponse<AuthResponse>> =>
         this.api.post('/api/auth/login', credentials);
@@ -50,7 +82,7 @@ class ApiService {
         this.api.post('/api/auth/register', userData);
 
     logout = (): Promise<AxiosResponse<void>> =>
-        this.api.post('/api/auth/logout');
+        this.api.post('/api/auth/logout', { refreshToken: localStorage.getItem('refreshToken') });
 
     // User endpoints
     getCurrentUser = (): Promise<AxiosResponse<User>> =>
@@ -60,16 +92,16 @@ class ApiService {
         this.api.put('/api/users/profile', userData);
 
     // Course endpoints
-    getCourses = (): Promise<AxiosResponse<Course[]>> =>
-        this.api.get('/api/courses');
+    getCourses = (query: CourseQuery = {}): Promise<AxiosResponse<CoursePage>> =>
+        this.api.get('/api/courses', { params: query });
 
-    getCourse = (id: number): Promise<AxiosResponse<Course>> =>
+    getCourse = (id: number): Promise<AxiosResponse<CourseDetail>> =>
         this.api.get(`/api/courses/${id}`);
 
-    createCourse = (courseData: Partial<Course>): Promise<AxiosResponse<Course>> =>
+    createCourse = (courseData: Partial<Course>): Promise<AxiosResponse<CourseDetail>> =>
         this.api.post('/api/courses', courseData);
 
-    updateCourse = (id: number, courseData: Partial<Course>): Promise<AxiosResponse<Course>> =>
+    updateCourse = (id: number, courseData: Partial<Course>): Promise<AxiosResponse<CourseDetail>> =>
         this.api.put(`/api/courses/${id}`, courseData);
 
     deleteCourse = (id: number): Promise<AxiosResponse<void>> =>
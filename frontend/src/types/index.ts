@@ -52,4 +52,53 @@ export interface Course {
     isPublished: boolean;
     createdAt: string;
     updatedAt: string;
-}
\ No newline at end of file
+}
+
+export interface CourseSummary {
+    id: number;
+    title: string;
+    category: string;
+    level: 'BEGINNER' | 'INTERMEDIATE' | 'ADVANCED';
+    price: number;
+    thumbnail?: string;
+    duration: number;
+    instructorId: number;
+    createdAt: string;
+}
+
+export interface CourseDetail {
+    id: number;
+    title: string;
+    description?: string;
+    instructorId: number;
+    price: number;
+    category: string;
+    thumbnail?: string;
+    duration?: number;
+    level?: 'BEGINNER' | 'INTERMEDIATE' | 'ADVANCED';
+    isPublished: boolean;
+    createdAt: string;
+    updatedAt: string;
+}
+
+export interface InstructorSummary {
+    id: number;
+    username: string;
+    firstName: string;
+    lastName: string;
+    profilePicture?: string;
+}
+
+export interface CoursePage {
+    items: CourseSummary[];
+    nextCursor?: string;
+    instructors: Record<number, InstructorSummary>; // keyed by instructorId
+}
+
+export interface CourseQuery {
+    cursor?: string;
+    size?: number;
+    category?: string;
+    level?: CourseSummary['level'];
+    instructorId?: number;
+}
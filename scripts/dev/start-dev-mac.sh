@@ -27,6 +27,11 @@ fi
 # Load environment variables
 export $(cat .env | grep -v '^#' | xargs)
 
+# ES256 signing keys for the user service (it refuses to start without them)
+./scripts/utils/generate-jwt-keys-mac.sh || exit 1
+export JWT_EC_PRIVATE_KEY="$PWD/secrets/jwt/ec-private.pem"
+export JWT_EC_PUBLIC_KEY="$PWD/secrets/jwt/ec-public.pem"
+
 # Start infrastructure services
 echo "${BLUE}📦 Starting infrastructure services...${NC}"
 docker-compose up -d postgres redis zookeeper kafka
@@ -0,0 +1,117 @@
+#!/bin/zsh
+
+# Compares a dashboard query against the precomputed daily rollups with the same query as a
+# GROUP BY over raw events. Generates the synthetic events in a scratch schema (analytics_bench)
+# of the docker-compose Postgres, so the service tables are untouched.
+# Requires: the edu-platform-postgres container running. 100M events need ~10 GB of disk and take
+# a while to generate; try a smaller count first.
+#
+# Usage: scripts/perf/analytics-rollup-benchmark-mac.sh [events] [courses] [days] [runs]
+#   e.g. scripts/perf/analytics-rollup-benchmark-mac.sh 100000000 10000 365 5
+
+GREEN='\033[0;32m'
+RED='\033[0;31m'
+YELLOW='\033[1;33m'
+BLUE='\033[0;34m'
+NC='\033[0m'
+
+events=${1:-100000000}
+courses=${2:-10000}
+days=${3:-365}
+runs=${4:-5}
+container=edu-platform-postgres
+
+psql_exec() {
+    docker exec -i $container psql -U postgres -d eduplatform -v ON_ERROR_STOP=1 -q "$@"
+}
+
+if ! docker ps --format '{{.Names}}' | grep -q "^$container$"; then
+    echo "${RED}❌ $container is not running.${NC} Run: docker-compose up -d postgres"
+    exit 1
+fi
+
+echo "${BLUE}📝 Generating $events events over $courses courses and $days days...${NC}"
+psql_exec <<SQL || exit 1
+DROP SCHEMA IF EXISTS analytics_bench CASCADE;
+CREATE SCHEMA analytics_bench;
+SET search_path = analytics_bench;
+
+CREATE TABLE courses AS
+SELECT id AS course_id, 1 + id % GREATEST($courses / 10, 1) AS instructor_id, (random() * 100)::numeric(10,2) AS price
+FROM generate_series(1, $courses) id;
+
+-- Skewed towards low course ids, like real catalogues; kind 0 = enrollment, 1 = lesson completion
+CREATE UNLOGGED TABLE events AS
+SELECT 1 + (($courses - 1) * power(random(), 3))::bigint AS course_id,
+       CASE WHEN random() < 0.2 THEN 0 ELSE 1 END AS kind,
+       now() - random() * interval '$days days' AS occurred_at
+FROM generate_series(1, $events);
+
+-- The naive side gets the best index it could have
+CREATE INDEX ON events (course_id, occurred_at);
+ALTER TABLE courses ADD PRIMARY KEY (course_id);
+CREATE INDEX ON courses (instructor_id);
+
+CREATE TABLE course_daily_stats AS
+SELECT e.course_id, e.occurred_at::date AS day,
+       count(*) FILTER (WHERE kind = 0)::int AS enrollments,
+       count(*) FILTER (WHERE kind = 1)::int AS completions,
+       count(*) FILTER (WHERE kind = 0) * c.price AS revenue
+FROM events e JOIN courses c USING (course_id)
+GROUP BY e.course_id, e.occurred_at::date, c.price;
+ALTER TABLE course_daily_stats ADD PRIMARY KEY (course_id, day);
+
+CREATE TABLE instructor_daily_stats AS
+SELECT c.instructor_id, s.day, sum(s.enrollments)::int AS enrollments, sum(s.completions)::int AS completions,
+       sum(s.revenue) AS revenue
+FROM course_daily_stats s JOIN courses c USING (course_id)
+GROUP BY c.instructor_id, s.day;
+ALTER TABLE instructor_daily_stats ADD PRIMARY KEY (instructor_id, day);
+
+VACUUM ANALYZE;
+SQL
+
+# The busiest course and its instructor: the worst case for the naive query
+course_id=1
+instructor_id=2
+
+naive_course="SELECT occurred_at::date AS day, count(*) FILTER (WHERE kind = 0), count(*) FILTER (WHERE kind = 1),
+    count(*) FILTER (WHERE kind = 0) * max(c.price)
+    FROM analytics_bench.events e JOIN analytics_bench.courses c USING (course_id)
+    WHERE e.course_id = $course_id AND occurred_at >= now() - interval '$days days' GROUP BY 1 ORDER BY 1"
+rollup_course="SELECT day, enrollments, completions, revenue FROM analytics_bench.course_daily_stats
+    WHERE course_id = $course_id AND day BETWEEN (now() - interval '$days days')::date AND now()::date ORDER BY day"
+naive_instructor="SELECT occurred_at::date AS day, count(*) FILTER (WHERE kind = 0), count(*) FILTER (WHERE kind = 1),
+    sum(c.price) FILTER (WHERE kind = 0)
+    FROM analytics_bench.events e JOIN analytics_bench.courses c USING (course_id)
+    WHERE c.instructor_id = $instructor_id AND occurred_at >= now() - interval '$days days' GROUP BY 1 ORDER BY 1"
+rollup_instructor="SELECT day, enrollments, completions, revenue FROM analytics_bench.instructor_daily_stats
+    WHERE instructor_id = $instructor_id AND day BETWEEN (now() - interval '$days days')::date AND now()::date ORDER BY day"
+
+# Median execution time in ms over the runs, after one warm-up
+measure() {
+    local query=$1
+    psql_exec -c "$query" >/dev/null
+    for ((i = 1; i <= runs; i++)); do
+        psql_exec -At -c "EXPLAIN (ANALYZE, FORMAT JSON) $query" | grep -o '"Execution Time": [0-9.]*' | awk '{print $3}'
+    done | sort -n | awk '{ t[NR] = $1 } END { print t[int((NR + 1) / 2)] }'
+}
+
+report() {
+    local label=$1
+    local naive=$(measure "$2")
+    local rollup=$(measure "$3")
+    echo "${GREEN}✅ $label${NC} - GROUP BY over events: ${naive} ms, rollup buckets: ${rollup} ms" \
+        "(${YELLOW}$(echo "$naive $rollup" | awk '{ printf "%.0fx", $1 / ($2 > 0 ? $2 : 0.001) }')${NC})"
+}
+
+echo "${YELLOW}⏳ Measuring median of $runs runs...${NC}"
+report "Course $course_id, $days days" "$naive_course" "$rollup_course"
+report "Instructor $instructor_id, $days days" "$naive_instructor" "$rollup_instructor"
+
+echo ""
+echo "${BLUE}Sizes:${NC}"
+psql_exec -c "SELECT relname, pg_size_pretty(pg_total_relation_size(oid)) AS size FROM pg_class
+    WHERE relnamespace = 'analytics_bench'::regnamespace AND relkind = 'r' ORDER BY pg_total_relation_size(oid) DESC"
+
+echo "${BLUE}Drop the scratch data with:${NC} docker exec $container psql -U postgres -d eduplatform -c 'DROP SCHEMA analytics_bench CASCADE'"
@@ -0,0 +1,88 @@
+#!/bin/zsh
+
+# Runs the same load against a service started with platform threads and then with the
+# virtual-threads profile, and prints throughput and p99 for both.
+# Requires: hey (brew install hey), Postgres/Kafka from docker-compose already running.
+#
+# Usage: scripts/perf/compare-thread-modes-mac.sh <service> <port> <path> [concurrency] [duration]
+#   e.g. scripts/perf/compare-thread-modes-mac.sh course-management-service 8092 /api/courses 500 30s
+# POST bodies: METHOD=POST BODY='{"email":"a@b.c","password":"secret"}' scripts/perf/...
+
+GREEN='\033[0;32m'
+RED='\033[0;31m'
+YELLOW='\033[1;33m'
+BLUE='\033[0;34m'
+NC='\033[0m'
+
+service=$1
+port=$2
+path=$3
+concurrency=${4:-500}
+duration=${5:-30s}
+method=${METHOD:-GET}
+body_args=()
+if [ -n "$BODY" ]; then
+    body_args=(-d "$BODY")
+fi
+
+if [ -z "$service" ] || [ -z "$port" ] || [ -z "$path" ]; then
+    echo "Usage: $0 <service> <port> <path> [concurrency] [duration]"
+    exit 1
+fi
+
+if ! command -v hey >/dev/null 2>&1; then
+    echo "${RED}❌ hey is not installed.${NC} Run: brew install hey"
+    exit 1
+fi
+
+service_path="backend/$service"
+
+echo "${BLUE}🔨 Building $service...${NC}"
+(cd "$service_path" && ./mvnw -q clean package -DskipTests) || exit 1
+jar=$(ls "$service_path"/target/*.jar | grep -v original | head -1)
+
+run_mode() {
+    local label=$1
+    local profiles=$2
+
+    echo "${BLUE}🚀 Starting $service ($label)...${NC}"
+    java -jar "$jar" --server.port=$port --spring.profiles.active=$profiles > "/tmp/$service-$label.log" 2>&1 &
+    local pid=$!
+
+    local attempt=1
+    until curl -s "http://localhost:$port/actuator/health" >/dev/null 2>&1; do
+        if [ $attempt -eq 60 ]; then
+            echo "${RED}❌ $service did not start, see /tmp/$service-$label.log${NC}"
+            kill $pid
+            exit 1
+        fi
+        sleep 2
+        ((attempt++))
+    done
+
+    echo "${YELLOW}⏳ Warming up...${NC}"
+    hey -z 10s -c 50 -m $method -T application/json "${body_args[@]}" "http://localhost:$port$path" >/dev/null
+
+    echo "${YELLOW}⏳ Measuring $concurrency concurrent clients for $duration...${NC}"
+    local report=$(hey -z $duration -c $concurrency -m $method -T application/json "${body_args[@]}" "http://localhost:$port$path")
+
+    local rps=$(echo "$report" | awk '/Requests\/sec/ {print $2}')
+    local p99=$(echo "$report" | awk '/99% in/ {print $3}')
+    echo "${GREEN}✅ $label${NC} - throughput: $rps req/s, p99: ${p99}s"
+    echo "$label $rps $p99" >> "$results"
+
+    kill $pid
+    wait $pid 2>/dev/null
+}
+
+results=$(mktemp)
+run_mode "platform" "default"
+run_mode "virtual" "virtual-threads"
+
+echo ""
+echo "${BLUE}📊 $method $path, $concurrency clients, $duration${NC}"
+printf "%-10s %12s %10s\n" "mode" "req/s" "p99 (s)"
+while read mode rps p99; do
+    printf "%-10s %12s %10s\n" "$mode" "$rps" "$p99"
+done < "$results"
+rm -f "$results"
@@ -0,0 +1,63 @@
+#!/bin/zsh
+
+# Creates courses from many concurrent clients through POST /api/courses and reports throughput,
+# p99, and how many courses_seq calls the inserts cost. With pooled-lo ids each service instance
+# takes 50 ids per sequence call instead of waiting on a generated key for every row.
+# Requires: hey (brew install hey), the course service and the edu-platform-postgres container running.
+#
+# Usage: scripts/perf/course-insert-load-mac.sh [port] [concurrency] [requests]
+#   e.g. scripts/perf/course-insert-load-mac.sh 8092 100 20000
+
+GREEN='\033[0;32m'
+RED='\033[0;31m'
+YELLOW='\033[1;33m'
+BLUE='\033[0;34m'
+NC='\033[0m'
+
+port=${1:-8092}
+concurrency=${2:-100}
+requests=${3:-20000}
+base="http://localhost:$port"
+container=edu-platform-postgres
+
+if ! command -v hey >/dev/null 2>&1; then
+    echo "${RED}❌ hey is not installed.${NC} Run: brew install hey"
+    exit 1
+fi
+
+if ! curl -s "$base/actuator/health" >/dev/null 2>&1; then
+    echo "${RED}❌ Course service is not reachable on port $port${NC}"
+    exit 1
+fi
+
+if ! docker ps --format '{{.Names}}' | grep -q "^$container$"; then
+    echo "${RED}❌ $container is not running.${NC} Run: docker-compose up -d postgres"
+    exit 1
+fi
+
+psql_value() {
+    docker exec -i $container psql -U postgres -d eduplatform -At -c "$1"
+}
+
+# Unpublished, so the load test's courses stay out of listings and search
+body='{"title":"Insert load test","description":"Created by course-insert-load-mac.sh","instructorId":1,"price":0,"category":"load-test","isPublished":false}'
+
+courses_before=$(psql_value "SELECT count(*) FROM courses")
+sequence_before=$(psql_value "SELECT last_value FROM courses_seq")
+increment=$(psql_value "SELECT increment_by FROM pg_sequences WHERE sequencename = 'courses_seq'")
+
+echo "${YELLOW}⏳ Creating $requests courses from $concurrency concurrent clients...${NC}"
+report=$(hey -n $requests -c $concurrency -m POST -T application/json -d "$body" "$base/api/courses")
+
+created=$(( $(psql_value "SELECT count(*) FROM courses") - courses_before ))
+sequence_calls=$(( ($(psql_value "SELECT last_value FROM courses_seq") - sequence_before) / increment ))
+rps=$(echo "$report" | awk '/Requests\/sec/ {print $2}')
+p50=$(echo "$report" | awk '/50% in/ {print $3}')
+p99=$(echo "$report" | awk '/99% in/ {print $3}')
+failed=$(echo "$report" | awk '/\[[0-9]+\]/ && $1 != "[200]" {sum += $2} END {print sum + 0}')
+
+echo ""
+echo "${GREEN}✅ Created:${NC} $created courses at $rps req/s, p50 ${p50}s, p99 ${p99}s, non-200: $failed"
+echo "${BLUE}courses_seq calls:${NC} $sequence_calls (one per $increment ids per instance)"
+echo "${BLUE}Remove the test courses with:${NC} docker exec $container psql -U postgres -d eduplatform" \
+     "-c \"DELETE FROM courses WHERE category = 'load-test'\""
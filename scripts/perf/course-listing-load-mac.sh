@@ -0,0 +1,79 @@
+#!/bin/zsh
+
+# Loads the course listing, which embeds instructor profiles from the course service's local read
+# model, and checks that it made no calls to the user service while doing so (POST /api/users/batch,
+# counted by the user service's http.server.requests). For comparison it then loads the batch call
+# the listing waited on before the read model: one round trip for the page's instructor ids per
+# listing, so its p99 is roughly what each listing no longer pays.
+# Requires: hey (brew install hey), jq, the course and user services running with some published courses.
+#
+# Usage: scripts/perf/course-listing-load-mac.sh [course-port] [user-port] [concurrency] [duration]
+#   e.g. scripts/perf/course-listing-load-mac.sh 8092 8091 50 30s
+
+GREEN='\033[0;32m'
+RED='\033[0;31m'
+YELLOW='\033[1;33m'
+BLUE='\033[0;34m'
+NC='\033[0m'
+
+course_port=${1:-8092}
+user_port=${2:-8091}
+concurrency=${3:-50}
+duration=${4:-30s}
+courses="http://localhost:$course_port"
+users="http://localhost:$user_port"
+
+for tool in hey jq; do
+    if ! command -v $tool >/dev/null 2>&1; then
+        echo "${RED}❌ $tool is not installed.${NC} Run: brew install $tool"
+        exit 1
+    fi
+done
+
+if ! curl -s "$courses/actuator/health" >/dev/null 2>&1; then
+    echo "${RED}❌ Course service is not reachable on port $course_port${NC}"
+    exit 1
+fi
+if ! curl -s "$users/actuator/health" >/dev/null 2>&1; then
+    echo "${RED}❌ User service is not reachable on port $user_port${NC}"
+    exit 1
+fi
+
+batch_calls() {
+    curl -s "$users/actuator/metrics/http.server.requests?tag=uri:/api/users/batch" \
+        | jq -r '[(.measurements // [])[] | select(.statistic == "COUNT") | .value][0] // 0'
+}
+
+instructor_ids=$(curl -s "$courses/api/courses?size=20" | jq -c '[.items[].instructorId] | unique')
+if [ -z "$instructor_ids" ] || [ "$instructor_ids" = "[]" ]; then
+    echo "${RED}❌ No published courses to list.${NC} Import some with POST /api/courses/import"
+    exit 1
+fi
+
+# Also fills the read model with any instructor it hasn't seen yet
+echo "${YELLOW}⏳ Warming up...${NC}"
+hey -z 10s -c $concurrency "$courses/api/courses?size=20" >/dev/null
+
+calls_before=$(batch_calls)
+echo "${YELLOW}⏳ Listing courses from $concurrency concurrent clients for $duration...${NC}"
+listing=$(hey -z $duration -c $concurrency "$courses/api/courses?size=20")
+calls=$(( $(batch_calls) - calls_before ))
+
+echo "${YELLOW}⏳ Loading the user lookup each listing used to make, same concurrency...${NC}"
+lookup=$(hey -z $duration -c $concurrency -m POST -T application/json -d "{\"ids\":$instructor_ids}" "$users/api/users/batch")
+
+listing_rps=$(echo "$listing" | awk '/Requests\/sec/ {print $2}')
+listing_p50=$(echo "$listing" | awk '/50% in/ {print $3}')
+listing_p99=$(echo "$listing" | awk '/99% in/ {print $3}')
+listing_failed=$(echo "$listing" | awk '/\[[0-9]+\]/ && $1 != "[200]" {sum += $2} END {print sum + 0}')
+lookup_p50=$(echo "$lookup" | awk '/50% in/ {print $3}')
+lookup_p99=$(echo "$lookup" | awk '/99% in/ {print $3}')
+
+echo ""
+echo "${GREEN}✅ Listing:${NC} $listing_rps req/s, p50 ${listing_p50}s, p99 ${listing_p99}s, non-200: $listing_failed"
+if [ "${calls%.*}" -eq 0 ]; then
+    echo "${GREEN}✅ User service calls during the run:${NC} 0"
+else
+    echo "${YELLOW}⚠️  User service calls during the run:${NC} ${calls%.*} (instructors missing from the read model)"
+fi
+echo "${BLUE}Per-listing user lookup avoided:${NC} p50 ${lookup_p50}s, p99 ${lookup_p99}s"
@@ -0,0 +1,128 @@
+#!/bin/zsh
+
+# Compares the old LIKE '%keyword%' title search with the tsvector/GIN search behind
+# /api/courses/search, over synthetic courses in a scratch schema (search_bench) of the
+# docker-compose Postgres, so the service tables are untouched. Both sides run the same shape of
+# query the service does: published courses only, first page of 20, ranked for full-text.
+# Requires: the edu-platform-postgres container running. 1M courses need ~1.5 GB of disk.
+#
+# Usage: scripts/perf/course-search-benchmark-mac.sh [courses] [runs]
+#   e.g. scripts/perf/course-search-benchmark-mac.sh 1000000 5
+
+GREEN='\033[0;32m'
+RED='\033[0;31m'
+YELLOW='\033[1;33m'
+BLUE='\033[0;34m'
+NC='\033[0m'
+
+courses=${1:-1000000}
+runs=${2:-5}
+container=edu-platform-postgres
+
+psql_exec() {
+    docker exec -i $container psql -U postgres -d eduplatform -v ON_ERROR_STOP=1 -q "$@"
+}
+
+if ! docker ps --format '{{.Names}}' | grep -q "^$container$"; then
+    echo "${RED}❌ $container is not running.${NC} Run: docker-compose up -d postgres"
+    exit 1
+fi
+
+echo "${BLUE}📝 Generating $courses courses...${NC}"
+psql_exec <<SQL || exit 1
+DROP SCHEMA IF EXISTS search_bench CASCADE;
+CREATE SCHEMA search_bench;
+SET search_path = search_bench;
+
+-- Titles and descriptions drawn from a small vocabulary, so common words match many rows and
+-- rare ones few, as in a real catalogue
+CREATE TABLE words (id int PRIMARY KEY, word text NOT NULL);
+INSERT INTO words
+SELECT row_number() OVER (), w FROM unnest(string_to_array(
+    'java python javascript kubernetes docker spring react angular machine learning data science ' ||
+    'statistics calculus algebra photography drawing painting guitar piano marketing finance ' ||
+    'accounting leadership negotiation writing poetry french spanish japanese cooking baking ' ||
+    'fitness yoga meditation design typography animation blender unity unreal security networking ' ||
+    'linux databases postgres sql rust golang haskell scala kotlin swift android ios cloud aws azure',
+    ' ')) w;
+
+CREATE TABLE courses (
+    id           bigint PRIMARY KEY,
+    title        text NOT NULL,
+    description  text NOT NULL,
+    category     text NOT NULL,
+    is_published boolean NOT NULL
+);
+
+-- The first word is skewed towards the start of the vocabulary
+INSERT INTO courses
+SELECT g.id,
+       initcap(w1.word || ' ' || w2.word || ' for beginners ' || g.id),
+       'Learn ' || w2.word || ' and ' || w3.word || ' step by step with hands-on ' || w1.word || ' projects',
+       w3.word,
+       g.published
+FROM (
+    SELECT id,
+           1 + floor(power(random(), 2) * n)::int AS first,
+           1 + floor(random() * n)::int AS second,
+           1 + floor(random() * n)::int AS third,
+           random() < 0.9 AS published
+    FROM generate_series(1, $courses) id, (SELECT count(*) AS n FROM words) vocabulary
+) g
+JOIN words w1 ON w1.id = g.first
+JOIN words w2 ON w2.id = g.second
+JOIN words w3 ON w3.id = g.third;
+
+-- Same definition as db/course-search.sql
+ALTER TABLE courses ADD COLUMN search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('english', coalesce(title, '')), 'A') ||
+        setweight(to_tsvector('english', coalesce(category, '')), 'B') ||
+        setweight(to_tsvector('english', coalesce(description, '')), 'C')
+    ) STORED;
+CREATE INDEX ON courses USING GIN (search_vector);
+
+VACUUM ANALYZE;
+SQL
+
+like_query() {
+    echo "SELECT id FROM search_bench.courses WHERE is_published AND LOWER(title) LIKE LOWER('%$1%')
+        ORDER BY id LIMIT 20"
+}
+
+# The service turns "intro java" into "intro & java:*"
+fts_query() {
+    echo "SELECT c.id FROM search_bench.courses c, to_tsquery('english', '$1') q
+        WHERE c.is_published AND c.search_vector @@ q ORDER BY ts_rank(c.search_vector, q) DESC, c.id LIMIT 20"
+}
+
+# Median execution time in ms over the runs, after one warm-up
+measure() {
+    local query=$1
+    psql_exec -c "$query" >/dev/null
+    for ((i = 1; i <= runs; i++)); do
+        psql_exec -At -c "EXPLAIN (ANALYZE, FORMAT JSON) $query" | grep -o '"Execution Time": [0-9.]*' | awk '{print $3}'
+    done | sort -n | awk '{ t[NR] = $1 } END { print t[int((NR + 1) / 2)] }'
+}
+
+report() {
+    local label=$1
+    local like=$(measure "$(like_query $2)")
+    local fts=$(measure "$(fts_query $3)")
+    echo "${GREEN}✅ $label${NC} - LIKE: ${like} ms, full-text: ${fts} ms" \
+        "(${YELLOW}$(echo "$like $fts" | awk '{ printf "%.0fx", $1 / ($2 > 0 ? $2 : 0.001) }')${NC})"
+}
+
+echo "${YELLOW}⏳ Measuring median of $runs runs...${NC}"
+report "Common word 'java'" "java" "java:*"
+report "Rare word 'haskell'" "haskell" "haskell:*"
+report "Typeahead 'kube'" "kube" "kube:*"
+report "Two words 'machine learning'" "machine learning" "machine & learning:*"
+report "No match 'zzz'" "zzz" "zzz:*"
+
+echo ""
+echo "${BLUE}Sizes:${NC}"
+psql_exec -c "SELECT relname, pg_size_pretty(pg_total_relation_size(oid)) AS size FROM pg_class
+    WHERE relnamespace = 'search_bench'::regnamespace AND relkind IN ('r', 'i') ORDER BY pg_total_relation_size(oid) DESC"
+
+echo "${BLUE}Drop the scratch data with:${NC} docker exec $container psql -U postgres -d eduplatform -c 'DROP SCHEMA search_bench CASCADE'"
@@ -0,0 +1,157 @@
+#!/bin/zsh
+
+# Puts two stub course-management-service instances behind the gateway's lb://course-management-service,
+# one healthy and one that injects faults, and compares tail latency and error rate on the course
+# catalogue with hedging off, hedging within the default budget, and hedging with a larger budget.
+# Retries stay on throughout, so the extra attempts per scenario show how much each budget spends.
+# The faulty stub delays a share of its responses (slow replica, e.g. GC pause or noisy neighbour)
+# and answers another share with 503 (overloaded replica).
+# Requires: hey (brew install hey), jq, python3, Redis from docker-compose running.
+#
+# Usage: scripts/perf/hedging-fault-injection-mac.sh [delay-ratio] [delay-ms] [error-ratio] [concurrency] [duration]
+#   e.g. scripts/perf/hedging-fault-injection-mac.sh 0.1 800 0.02 50 30s
+
+GREEN='\033[0;32m'
+RED='\033[0;31m'
+YELLOW='\033[1;33m'
+BLUE='\033[0;34m'
+NC='\033[0m'
+
+delay_ratio=${1:-0.1}
+delay_ms=${2:-800}
+error_ratio=${3:-0.02}
+concurrency=${4:-50}
+duration=${5:-30s}
+gateway_port=8090
+healthy_port=9182
+faulty_port=9183
+# An open endpoint on the course-service route, so no token is needed
+path=/api/courses/public
+base="http://localhost:$gateway_port"
+
+for tool in hey jq python3; do
+    if ! command -v $tool >/dev/null 2>&1; then
+        echo "${RED}❌ $tool is not installed.${NC} Run: brew install $tool"
+        exit 1
+    fi
+done
+
+work_dir=$(mktemp -d)
+pids=()
+trap 'kill $pids 2>/dev/null; wait $pids 2>/dev/null' EXIT
+
+# Answers every GET with a small JSON page; health checks always succeed so the load balancer
+# keeps the faulty instance in rotation, as it would for a replica that is slow but alive
+cat > "$work_dir/stub.py" <<'PY'
+import json, random, sys, time
+from http.server import BaseHTTPRequestHandler, ThreadingHTTPServer
+
+port, delay_ratio, delay_ms, error_ratio = int(sys.argv[1]), float(sys.argv[2]), int(sys.argv[3]), float(sys.argv[4])
+body = json.dumps({"content": [{"id": i, "title": "Course %d" % i} for i in range(20)]}).encode()
+
+class Stub(BaseHTTPRequestHandler):
+    protocol_version = "HTTP/1.1"
+
+    def do_GET(self):
+        if not self.path.startswith("/actuator/health"):
+            roll = random.random()
+            if roll < error_ratio:
+                return self.reply(503, b'{"error":"injected"}')
+            if roll < error_ratio + delay_ratio:
+                time.sleep(delay_ms / 1000)
+        self.reply(200, body)
+
+    def reply(self, status, payload):
+        self.send_response(status)
+        self.send_header("Content-Type", "application/json")
+        self.send_header("Content-Length", str(len(payload)))
+        self.end_headers()
+        self.wfile.write(payload)
+
+    def log_message(self, *args):
+        pass
+
+ThreadingHTTPServer(("127.0.0.1", port), Stub).serve_forever()
+PY
+
+echo "${BLUE}🧪 Starting stubs: healthy on $healthy_port, faulty on $faulty_port" \
+     "(${delay_ratio} delayed ${delay_ms}ms, ${error_ratio} 503)...${NC}"
+python3 "$work_dir/stub.py" $healthy_port 0 0 0 &
+pids+=($!)
+python3 "$work_dir/stub.py" $faulty_port $delay_ratio $delay_ms $error_ratio &
+pids+=($!)
+
+echo "${BLUE}🔨 Building api-gateway...${NC}"
+(cd backend/api-gateway && ./mvnw -q clean package -DskipTests) || exit 1
+jar=$(ls backend/api-gateway/target/*.jar | grep -v original | head -1)
+
+metric() {
+    curl -s "$base/actuator/metrics/$1?tag=route:course-service${2:+&tag=$2}" \
+        | jq -r '[(.measurements // [])[] | select(.statistic == "COUNT") | .value][0] // 0'
+}
+
+run_scenario() {
+    local label=$1
+    shift
+
+    echo "${BLUE}🚀 Starting gateway ($label)...${NC}"
+    java -jar "$jar" \
+        "--spring.cloud.discovery.client.simple.instances.course-management-service[0].uri=http://localhost:$healthy_port" \
+        "--spring.cloud.discovery.client.simple.instances.course-management-service[1].uri=http://localhost:$faulty_port" \
+        --gateway.response-cache.enabled=false \
+        --gateway.rate-limit.enabled=false \
+        "$@" > "$work_dir/gateway-$label.log" 2>&1 &
+    local pid=$!
+
+    local attempt=1
+    until curl -s "$base/actuator/health" >/dev/null 2>&1; do
+        if [ $attempt -eq 60 ]; then
+            echo "${RED}❌ Gateway did not start, see $work_dir/gateway-$label.log${NC}"
+            kill $pid
+            exit 1
+        fi
+        sleep 2
+        ((attempt++))
+    done
+
+    echo "${YELLOW}⏳ Warming up (fills the latency histogram the hedge delay is taken from)...${NC}"
+    hey -z 10s -c $concurrency "$base$path" >/dev/null
+
+    local retries_before=$(metric gateway.resilience.attempts kind:retry)
+    local hedges_before=$(metric gateway.resilience.attempts kind:hedge)
+    local exhausted_before=$(metric gateway.resilience.budget.exhausted)
+
+    echo "${YELLOW}⏳ Measuring $concurrency concurrent clients for $duration...${NC}"
+    local report=$(hey -z $duration -c $concurrency "$base$path")
+
+    local requests=$(echo "$report" | awk '/\[[0-9]+\]/ {sum += $2} END {print sum}')
+    local failed=$(echo "$report" | awk '/\[[0-9]+\]/ && $1 != "[200]" {sum += $2} END {print sum + 0}')
+    local p50=$(echo "$report" | awk '/50% in/ {print $3}')
+    local p99=$(echo "$report" | awk '/99% in/ {print $3}')
+    local retries=$(( $(metric gateway.resilience.attempts kind:retry) - retries_before ))
+    local hedges=$(( $(metric gateway.resilience.attempts kind:hedge) - hedges_before ))
+    local exhausted=$(( $(metric gateway.resilience.budget.exhausted) - exhausted_before ))
+
+    echo "${GREEN}✅ $label${NC} - p50: ${p50}s, p99: ${p99}s, non-200: $failed/$requests," \
+         "retries: ${retries%.*}, hedges: ${hedges%.*}, budget exhausted: ${exhausted%.*}"
+    echo "$label $p50 $p99 $failed $requests ${retries%.*} ${hedges%.*} ${exhausted%.*}" >> "$results"
+
+    kill $pid
+    wait $pid 2>/dev/null
+}
+
+results=$(mktemp)
+hedge_paths="--gateway.resilience.routes.course-service.hedge.paths=$path"
+run_scenario "retry-only" "--gateway.resilience.routes.course-service.hedge.paths="
+run_scenario "hedge-budget-10pct" "$hedge_paths"
+run_scenario "hedge-budget-30pct" "$hedge_paths" \
+    --gateway.resilience.routes.course-service.budget.ratio=0.3 \
+    --gateway.resilience.routes.course-service.budget.max-tokens=60
+
+echo ""
+echo "${BLUE}📊 Scenario            p50       p99       non-200   retries  hedges  exhausted${NC}"
+while read label p50 p99 failed requests retries hedges exhausted; do
+    printf "   %-20s %-9s %-9s %-9s %-8s %-7s %s\n" "$label" "${p50}s" "${p99}s" "$failed/$requests" \
+        "$retries" "$hedges" "$exhausted"
+done < "$results"
+rm -f "$results"
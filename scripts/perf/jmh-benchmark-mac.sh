@@ -0,0 +1,44 @@
+#!/bin/zsh
+
+# Runs JMH microbenchmarks from a service's test sources (classes annotated with @Benchmark) and
+# prints JMH's summary table. Extra arguments go to JMH, e.g. -p routes=200 to fix a parameter.
+# Requires: nothing beyond the JDK; Maven is run through the service's wrapper.
+#
+# Usage: scripts/perf/jmh-benchmark-mac.sh <service> <benchmark-regex> [jmh options...]
+#   e.g. scripts/perf/jmh-benchmark-mac.sh api-gateway RouteMatchingBenchmark
+#        scripts/perf/jmh-benchmark-mac.sh api-gateway RouteMatchingBenchmark -p routes=200 -f 2
+#        scripts/perf/jmh-benchmark-mac.sh user-management-service JwtTokenBenchmark
+#        scripts/perf/jmh-benchmark-mac.sh course-management-service CourseSerializationBenchmark -prof gc
+
+GREEN='\033[0;32m'
+RED='\033[0;31m'
+YELLOW='\033[1;33m'
+BLUE='\033[0;34m'
+NC='\033[0m'
+
+service=$1
+benchmark=$2
+shift 2 2>/dev/null
+
+if [ -z "$service" ] || [ -z "$benchmark" ]; then
+    echo "Usage: $0 <service> <benchmark-regex> [jmh options...]"
+    exit 1
+fi
+
+service_path="backend/$service"
+if [ ! -d "$service_path" ]; then
+    echo "${RED}❌ No such service: $service_path${NC}"
+    exit 1
+fi
+
+echo "${BLUE}🔨 Compiling $service benchmarks...${NC}"
+(cd "$service_path" && ./mvnw -q test-compile dependency:build-classpath \
+    -Dmdep.outputFile=target/benchmark.classpath -Dmdep.includeScope=test) || exit 1
+
+classpath="$service_path/target/test-classes:$service_path/target/classes:$(cat $service_path/target/benchmark.classpath)"
+
+echo "${YELLOW}⏳ Running $benchmark (JMH forks its own JVMs; this takes a few minutes)...${NC}"
+java -cp "$classpath" org.openjdk.jmh.Main "$benchmark" -rf text -rff "$service_path/target/jmh-$benchmark.txt" "$@" || exit 1
+
+echo ""
+echo "${GREEN}✅ Done.${NC} Results: $service_path/target/jmh-$benchmark.txt"
@@ -0,0 +1,133 @@
+#!/bin/zsh
+
+# Puts four stub course-management-service instances behind the gateway's lb://course-management-service
+# and shows how the load balancer spreads traffic across them:
+#   fast      answers at once
+#   slow      answers after a fixed delay, so power-of-two-choices should send it a smaller share
+#   unhealthy serves requests but fails /actuator/health, so active health checks should evict it
+#   failing   passes health checks but answers 503, so passive checks should eject it for a while
+# Retries and hedging are off, so every request lands on exactly one stub.
+# Requires: hey (brew install hey), python3, Redis from docker-compose running.
+#
+# Usage: scripts/perf/load-balancer-stubs-mac.sh [slow-delay-ms] [concurrency] [duration]
+#   e.g. scripts/perf/load-balancer-stubs-mac.sh 200 50 30s
+
+GREEN='\033[0;32m'
+RED='\033[0;31m'
+YELLOW='\033[1;33m'
+BLUE='\033[0;34m'
+NC='\033[0m'
+
+slow_delay_ms=${1:-200}
+concurrency=${2:-50}
+duration=${3:-30s}
+gateway_port=8090
+# An open endpoint on the course-service route, so no token is needed
+path=/api/courses/public
+base="http://localhost:$gateway_port"
+stubs=(fast:9281 slow:9282 unhealthy:9283 failing:9284)
+
+for tool in hey python3; do
+    if ! command -v $tool >/dev/null 2>&1; then
+        echo "${RED}❌ $tool is not installed.${NC} Run: brew install $tool"
+        exit 1
+    fi
+done
+
+work_dir=$(mktemp -d)
+pids=()
+trap 'kill $pids 2>/dev/null; wait $pids 2>/dev/null' EXIT
+
+# Counts the requests it served (health checks excluded) and reports them on GET /__served
+cat > "$work_dir/stub.py" <<'PY'
+import sys, threading, time
+from http.server import BaseHTTPRequestHandler, ThreadingHTTPServer
+
+port, mode, delay_ms = int(sys.argv[1]), sys.argv[2], int(sys.argv[3])
+body = b'{"content":[]}'
+served = 0
+lock = threading.Lock()
+
+class Stub(BaseHTTPRequestHandler):
+    protocol_version = "HTTP/1.1"
+
+    def do_GET(self):
+        global served
+        if self.path == "/__served":
+            return self.reply(200, str(served).encode())
+        if self.path.startswith("/actuator/health"):
+            return self.reply(503 if mode == "unhealthy" else 200, b'{"status":"UP"}')
+        with lock:
+            served += 1
+        if mode == "slow":
+            time.sleep(delay_ms / 1000)
+        if mode == "failing":
+            return self.reply(503, b'{"error":"injected"}')
+        self.reply(200, body)
+
+    def reply(self, status, payload):
+        self.send_response(status)
+        self.send_header("Content-Type", "application/json")
+        self.send_header("Content-Length", str(len(payload)))
+        self.end_headers()
+        self.wfile.write(payload)
+
+    def log_message(self, *args):
+        pass
+
+ThreadingHTTPServer(("127.0.0.1", port), Stub).serve_forever()
+PY
+
+instance_args=()
+i=0
+for stub in $stubs; do
+    name=${stub%%:*}
+    port=${stub##*:}
+    python3 "$work_dir/stub.py" $port $name $slow_delay_ms &
+    pids+=($!)
+    instance_args+=("--spring.cloud.discovery.client.simple.instances.course-management-service[$i].uri=http://localhost:$port")
+    ((i++))
+done
+echo "${BLUE}🧪 Started stubs: ${stubs[*]} (slow delays ${slow_delay_ms}ms)${NC}"
+
+echo "${BLUE}🔨 Building api-gateway...${NC}"
+(cd backend/api-gateway && ./mvnw -q clean package -DskipTests) || exit 1
+jar=$(ls backend/api-gateway/target/*.jar | grep -v original | head -1)
+
+echo "${BLUE}🚀 Starting gateway...${NC}"
+java -jar "$jar" $instance_args \
+    --gateway.response-cache.enabled=false \
+    --gateway.rate-limit.enabled=false \
+    --gateway.resilience.routes.course-service.retry.max-retries=0 \
+    "--gateway.resilience.routes.course-service.hedge.paths=" \
+    > "$work_dir/gateway.log" 2>&1 &
+pids+=($!)
+
+attempt=1
+until curl -s "$base/actuator/health" >/dev/null 2>&1; do
+    if [ $attempt -eq 60 ]; then
+        echo "${RED}❌ Gateway did not start, see $work_dir/gateway.log${NC}"
+        exit 1
+    fi
+    sleep 2
+    ((attempt++))
+done
+
+echo "${YELLOW}⏳ $concurrency concurrent clients for $duration...${NC}"
+report=$(hey -z $duration -c $concurrency "$base$path")
+
+requests=$(echo "$report" | awk '/\[[0-9]+\]/ {sum += $2} END {print sum}')
+failed=$(echo "$report" | awk '/\[[0-9]+\]/ && $1 != "[200]" {sum += $2} END {print sum + 0}')
+p50=$(echo "$report" | awk '/50% in/ {print $3}')
+p99=$(echo "$report" | awk '/99% in/ {print $3}')
+
+echo ""
+echo "${GREEN}✅ Gateway:${NC} $requests requests, p50 ${p50}s, p99 ${p99}s, non-200: $failed"
+echo "${BLUE}📊 Requests served per stub:${NC}"
+for stub in $stubs; do
+    name=${stub%%:*}
+    served=$(curl -s "http://localhost:${stub##*:}/__served")
+    printf "   %-10s %8s  %s\n" "$name" "$served" "$(echo "$served $requests" | awk '{ printf "%.1f%%", $2 > 0 ? $1 * 100 / $2 : 0 }')"
+done
+ejections=$(grep -c "Ejecting upstream" "$work_dir/gateway.log")
+echo "${BLUE}Passive ejections logged:${NC} $ejections"
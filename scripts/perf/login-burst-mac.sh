@@ -0,0 +1,87 @@
+#!/bin/zsh
+
+# Fires a burst of concurrent logins at the user service. While the burst runs, it probes an unrelated
+# endpoint (/api/auth/revocations), which should stay fast because BCrypt runs on its own bounded pool.
+# Reports login p50/p99, how many logins were shed with 503, the probe's p99, and BCrypt verify
+# time from security.password.verify.
+# Requires: hey (brew install hey), jq, the user service and Postgres already running.
+#
+# Usage: scripts/perf/login-burst-mac.sh [port] [concurrency] [requests]
+#   e.g. scripts/perf/login-burst-mac.sh 8091 500 5000
+
+GREEN='\033[0;32m'
+RED='\033[0;31m'
+YELLOW='\033[1;33m'
+BLUE='\033[0;34m'
+NC='\033[0m'
+
+port=${1:-8091}
+concurrency=${2:-500}
+requests=${3:-5000}
+base="http://localhost:$port"
+email="login-burst@example.com"
+password="login-burst-password"
+
+for tool in hey jq; do
+    if ! command -v $tool >/dev/null 2>&1; then
+        echo "${RED}❌ $tool is not installed.${NC} Run: brew install $tool"
+        exit 1
+    fi
+done
+
+if ! curl -s "$base/actuator/health" >/dev/null 2>&1; then
+    echo "${RED}❌ User service is not reachable on port $port${NC}"
+    exit 1
+fi
+
+metric() {
+    curl -s "$base/actuator/metrics/$1" | jq -r "[(.measurements // [])[] | select(.statistic == \"$2\") | .value][0] // 0"
+}
+
+# Registering twice fails harmlessly with 400
+curl -s -o /dev/null -X POST "$base/api/auth/register" -H 'Content-Type: application/json' \
+    -d "{\"username\":\"loginburst\",\"email\":\"$email\",\"password\":\"$password\",\"firstName\":\"Load\",\"lastName\":\"Test\"}"
+
+body="{\"email\":\"$email\",\"password\":\"$password\"}"
+if [ "$(curl -s -o /dev/null -w '%{http_code}' -X POST "$base/api/auth/login" -H 'Content-Type: application/json' -d "$body")" != "200" ]; then
+    echo "${RED}❌ Test user can't log in${NC}"
+    exit 1
+fi
+
+echo "${YELLOW}⏳ Warming up...${NC}"
+hey -n 200 -c 20 -m POST -T application/json -d "$body" "$base/api/auth/login" >/dev/null
+
+verify_count_before=$(metric security.password.verify COUNT)
+verify_total_before=$(metric security.password.verify TOTAL_TIME)
+
+report_dir=$(mktemp -d)
+echo "${YELLOW}⏳ $requests logins from $concurrency concurrent clients...${NC}"
+hey -n $requests -c $concurrency -m POST -T application/json -d "$body" "$base/api/auth/login" > "$report_dir/login" &
+login_pid=$!
+# Probes an endpoint that needs no hashing for as long as the burst lasts
+hey -z 3600s -c 5 "$base/api/auth/revocations" > "$report_dir/probe" &
+probe_pid=$!
+wait $login_pid
+kill -INT $probe_pid
+wait $probe_pid 2>/dev/null
+
+login_p50=$(awk '/50% in/ {print $3}' "$report_dir/login")
+login_p99=$(awk '/99% in/ {print $3}' "$report_dir/login")
+login_rps=$(awk '/Requests\/sec/ {print $2}' "$report_dir/login")
+ok=$(awk '/\[200\]/ {print $2}' "$report_dir/login")
+shed=$(awk '/\[503\]/ {print $2}' "$report_dir/login")
+probe_p99=$(awk '/99% in/ {print $3}' "$report_dir/probe")
+
+verifies=$(( $(metric security.password.verify COUNT) - verify_count_before ))
+verify_total=$(( $(metric security.password.verify TOTAL_TIME) - verify_total_before ))
+
+echo ""
+echo "${GREEN}✅ Logins:${NC} ${ok:-0} succeeded at $login_rps req/s, p50 ${login_p50}s, p99 ${login_p99}s"
+if [ -n "$shed" ]; then
+    echo "${YELLOW}⚠️  Shed with 503:${NC} $shed (hashing queue full; clients retry after Retry-After)"
+fi
+echo "${BLUE}Unrelated endpoint p99 during the burst:${NC} ${probe_p99}s"
+if [ "${verifies%.*}" -gt 0 ]; then
+    echo "${BLUE}BCrypt verify mean:${NC} $(echo "$verify_total $verifies" | awk '{ printf "%.1f", $1 * 1000 / $2 }') ms"
+fi
+rm -rf "$report_dir"
@@ -0,0 +1,82 @@
+#!/bin/zsh
+
+# Drives heartbeat batches from many simulated learners at the progress service and reports the
+# sustained events/s (from progress.events.accepted), rejected events, flush p99 and heap in use.
+# Requires: hey (brew install hey), jq, the progress service and Postgres already running.
+#
+# Usage: scripts/perf/progress-ingest-load-mac.sh [port] [users] [batch-size] [duration]
+#   e.g. scripts/perf/progress-ingest-load-mac.sh 8095 200 50 60s
+# Each simulated user is its own hey process (-c 1), so positions coalesce per user the way real players do.
+
+GREEN='\033[0;32m'
+RED='\033[0;31m'
+YELLOW='\033[1;33m'
+BLUE='\033[0;34m'
+NC='\033[0m'
+
+port=${1:-8095}
+users=${2:-200}
+batch_size=${3:-50}
+duration=${4:-60s}
+base="http://localhost:$port"
+
+for tool in hey jq; do
+    if ! command -v $tool >/dev/null 2>&1; then
+        echo "${RED}❌ $tool is not installed.${NC} Run: brew install $tool"
+        exit 1
+    fi
+done
+
+if ! curl -s "$base/actuator/health" >/dev/null 2>&1; then
+    echo "${RED}❌ Progress service is not reachable on port $port${NC}"
+    exit 1
+fi
+
+metric() {
+    curl -s "$base/actuator/metrics/$1${2:+?tag=$2}" | jq -r "[.measurements[] | select(.statistic == \"${3:-COUNT}\") | .value][0] // 0"
+}
+
+# One batch per user: batch_size lessons of course 1, positions spread across the lesson
+body_dir=$(mktemp -d)
+echo "${BLUE}📝 Generating $users batches of $batch_size heartbeats...${NC}"
+for ((u = 1; u <= users; u++)); do
+    events=()
+    for ((l = 1; l <= batch_size; l++)); do
+        events+=("{\"lessonId\":$l,\"courseId\":1,\"positionSeconds\":$(( (u * l) % 600 )),\"durationSeconds\":600}")
+    done
+    echo "{\"events\":[${(j:,:)events}]}" > "$body_dir/$u.json"
+done
+
+accepted_before=$(metric progress.events.accepted)
+rejected_before=$(metric progress.events.rejected)
+
+echo "${YELLOW}⏳ $users users sending for $duration...${NC}"
+start=$(date +%s)
+pids=()
+for ((u = 1; u <= users; u++)); do
+    hey -z $duration -c 1 -m POST -T application/json -H "X-User-Id: $u" -D "$body_dir/$u.json" \
+        "$base/api/progress/heartbeats" > "$body_dir/$u.report" &
+    pids+=($!)
+done
+wait $pids
+elapsed=$(( $(date +%s) - start ))
+
+# Let the last flush finish before reading the counters
+sleep 2
+accepted=$(( $(metric progress.events.accepted) - accepted_before ))
+rejected=$(( $(metric progress.events.rejected) - rejected_before ))
+events_per_sec=$(( accepted / elapsed ))
+p99=$(cat "$body_dir"/*.report | awk '/99% in/ {print $3}' | sort -n | tail -1)
+flush_max=$(metric progress.flush "" MAX)
+heap=$(metric jvm.memory.used area:heap VALUE)
+
+echo ""
+echo "${GREEN}✅ Accepted:${NC} ${accepted%.*} events (${events_per_sec%.*} events/s)"
+if [ "${rejected%.*}" -gt 0 ]; then
+    echo "${RED}⚠️  Rejected (503):${NC} ${rejected%.*} events"
+fi
+echo "${BLUE}Request p99 (worst user):${NC} ${p99}s"
+echo "${BLUE}Slowest flush:${NC} ${flush_max}s"
+echo "${BLUE}Heap used:${NC} $(( ${heap%.*} / 1024 / 1024 )) MB"
+
+rm -rf "$body_dir"
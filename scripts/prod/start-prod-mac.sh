@@ -17,6 +17,9 @@ fi
 # Load environment variables
 export $(cat .env | grep -v '^#' | xargs)
 
+# Mounted into the user service as docker secrets
+./scripts/utils/generate-jwt-keys-mac.sh || exit 1
+
 # Build and start all services
 echo "${BLUE}🏗️  Building and starting all services...${NC}"
 docker-compose -f docker-compose.yml -f docker-compose.prod.yml up --build -d
@@ -0,0 +1,34 @@
+#!/bin/zsh
+
+# Creates the ES256 key pair the user service signs tokens with (secrets/jwt, git-ignored).
+# Existing keys are kept: replacing them invalidates every issued token.
+# Requires: openssl
+#
+# Usage: scripts/utils/generate-jwt-keys-mac.sh
+
+GREEN='\033[0;32m'
+RED='\033[0;31m'
+BLUE='\033[0;34m'
+NC='\033[0m'
+
+key_dir="secrets/jwt"
+private_key="$key_dir/ec-private.pem"
+public_key="$key_dir/ec-public.pem"
+
+if [ -f "$private_key" ] && [ -f "$public_key" ]; then
+    echo "${GREEN}✅ JWT signing keys already present in $key_dir${NC}"
+    exit 0
+fi
+
+if ! command -v openssl >/dev/null 2>&1; then
+    echo "${RED}❌ openssl is not installed.${NC} Run: brew install openssl"
+    exit 1
+fi
+
+echo "${BLUE}🔑 Generating ES256 signing keys in $key_dir...${NC}"
+mkdir -p "$key_dir"
+# PKCS#8 private key and X.509 SubjectPublicKeyInfo, the formats EcSigningKey reads
+openssl genpkey -algorithm EC -pkeyopt ec_paramgen_curve:P-256 -out "$private_key" || exit 1
+openssl pkey -in "$private_key" -pubout -out "$public_key" || exit 1
+chmod 600 "$private_key"
+echo "${GREEN}✅ Keys written to $key_dir${NC}"